@@ -0,0 +1,67 @@
+package marcostar.project.store_project.config.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import marcostar.project.store_project.entities.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService cachingJwtService;
+    private JwtService verifyingJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtService = jwtService(10_000L);
+        // A zero-sized cache makes every parse check the signature.
+        verifyingJwtService = jwtService(0L);
+        user = User.builder().username("benchmark").build();
+        token = cachingJwtService.generateToken(user);
+    }
+
+    private static JwtService jwtService(long cacheSize) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", cacheSize);
+        jwtService.init();
+        return jwtService;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaimsCached() {
+        return cachingJwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsVerified() {
+        return verifyingJwtService.parseClaims(token);
+    }
+}
@@ -0,0 +1,101 @@
+package marcostar.project.store_project.dtos;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import marcostar.project.store_project.dtos.order.OrderItemResponse;
+import marcostar.project.store_project.dtos.order.OrderResponse;
+import marcostar.project.store_project.dtos.product.ProductResponse;
+import marcostar.project.store_project.entities.enums.OrderStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Jackson serialization of a 20-element page, the default page size of the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"5", "50"})
+    public int itemsPerOrder;
+
+    private JsonMapper jsonMapper;
+    private PagedModel<OrderResponse> orderPage;
+    private PagedModel<ProductResponse> productPage;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        List<OrderResponse> orders = new ArrayList<>();
+        List<ProductResponse> products = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            List<OrderItemResponse> items = new ArrayList<>();
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(OrderItemResponse.builder()
+                        .productId(UUID.randomUUID())
+                        .productName("Product " + j)
+                        .quantity(new BigDecimal("2.500"))
+                        .unitPrice(new BigDecimal("19.99"))
+                        .subtotal(new BigDecimal("49.975"))
+                        .build());
+            }
+            orders.add(OrderResponse.builder()
+                    .id(UUID.randomUUID())
+                    .orderNumber(String.format("ORD-%012d", i))
+                    .status(OrderStatus.PENDING)
+                    .createdAt(new Date())
+                    .updatedAt(new Date())
+                    .items(items)
+                    .total(new BigDecimal("49.975").multiply(BigDecimal.valueOf(itemsPerOrder)))
+                    .build());
+            products.add(ProductResponse.builder()
+                    .id(UUID.randomUUID())
+                    .name("Product " + i)
+                    .description("Description of product " + i)
+                    .price(new BigDecimal("19.99"))
+                    .stock(new BigDecimal("150.000"))
+                    .unitId(UUID.randomUUID())
+                    .unitCode("KILOGRAM")
+                    .unitSymbol("kg")
+                    .build());
+        }
+        orderPage = new PagedModel<>(new PageImpl<>(orders, PageRequest.of(0, PAGE_SIZE), 1000));
+        productPage = new PagedModel<>(new PageImpl<>(products, PageRequest.of(0, PAGE_SIZE), 1000));
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() {
+        return jsonMapper.writeValueAsBytes(orderPage);
+    }
+
+    @Benchmark
+    public byte[] serializeProductPage() {
+        return jsonMapper.writeValueAsBytes(productPage);
+    }
+}
@@ -0,0 +1,94 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import marcostar.project.store_project.dtos.order.OrderResponse;
+import marcostar.project.store_project.entities.CustomerOrder;
+import marcostar.project.store_project.entities.OrderItem;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.enums.OrderStatus;
+
+/**
+ * Response mapping of large orders, plus the two ways of summing line subtotals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    @Param({"10", "1000"})
+    public int itemCount;
+
+    private OrderServiceImpl orderService;
+    private CustomerOrder order;
+    private List<BigDecimal> subtotals;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // toResponse only reads its argument, so the collaborators can stay null.
+        Constructor<?> constructor = OrderServiceImpl.class.getDeclaredConstructors()[0];
+        orderService = (OrderServiceImpl) constructor.newInstance(new Object[constructor.getParameterCount()]);
+
+        order = new CustomerOrder();
+        order.setId(UUID.randomUUID());
+        order.setOrderNumber("ORD-000000000001");
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(new Date());
+        order.setUpdatedAt(new Date());
+        List<OrderItem> items = new ArrayList<>();
+        subtotals = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(new BigDecimal("2.500"));
+            item.setUnitPrice(new BigDecimal(i + ".99"));
+            items.add(item);
+            subtotals.add(item.getUnitPrice().multiply(item.getQuantity()));
+        }
+        order.setItems(items);
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return orderService.toResponse(order);
+    }
+
+    @Benchmark
+    public BigDecimal subtotalStreamReduce() {
+        return subtotals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal subtotalLoop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal subtotal : subtotals) {
+            total = total.add(subtotal);
+        }
+        return total;
+    }
+}
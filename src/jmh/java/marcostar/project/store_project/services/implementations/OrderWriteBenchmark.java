@@ -0,0 +1,149 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import marcostar.project.store_project.StoreProjectApplication;
+import marcostar.project.store_project.config.metrics.StatementCounter;
+import marcostar.project.store_project.dtos.order.OrderItemRequest;
+import marcostar.project.store_project.dtos.order.OrderRequest;
+import marcostar.project.store_project.dtos.order.OrderResponse;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.entities.enums.TypeRole;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.RoleRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.repositories.UserRepository;
+import marcostar.project.store_project.services.OrderService;
+
+/**
+ * Creates a 100-line order against an embedded Postgres, with Hibernate JDBC batching off
+ * ({@code batchSize=0}) and on. The {@code statements} counter sums the statements Hibernate
+ * prepares; a batched statement goes out once per {@code batchSize} rows. The stock reservation
+ * is a single JDBC batch in both runs and is not counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderWriteBenchmark {
+
+    private static final int LINES = 100;
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequest request;
+
+    // Summed per iteration; statements / orders is the per-order figure printed after each one.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long orders;
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            if (orders > 0) {
+                System.out.printf("%n  statements per order: %.1f%n", (double) statements / orders);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(StoreProjectApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + (batchSize > 0),
+                "--server.port=0",
+                "--jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret",
+                "--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .username("benchmark-orders")
+                .firstname("Benchmark")
+                .lastname("Orders")
+                .email("benchmark-orders@example.com")
+                .password("secret")
+                .role(context.getBean(RoleRepository.class).findByTypeRole(TypeRole.ADMIN).orElseThrow())
+                .build());
+        // Global so the JMH worker thread sees the same principal.
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Unit unit = context.getBean(UnitRepository.class).findAll().get(0);
+        List<Product> products = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            products.add(Product.builder()
+                    .name("Benchmark product " + i)
+                    .price(BigDecimal.TEN)
+                    .stock(new BigDecimal("1000000000"))
+                    .unit(unit)
+                    .build());
+        }
+        List<OrderItemRequest> items = new ArrayList<>(LINES);
+        for (Product product : context.getBean(ProductRepository.class).saveAll(products)) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId());
+            item.setUnitId(unit.getId());
+            item.setQuantity(BigDecimal.ONE);
+            items.add(item);
+        }
+        request = new OrderRequest();
+        request.setItems(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder(Statements counters) {
+        StatementCounter.begin();
+        try {
+            return orderService.createOrder(request);
+        } finally {
+            counters.statements += StatementCounter.end();
+            counters.orders++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Searches an {@link InvertedIndex} of one million synthetic products. Names draw from a few
+ * thousand words and descriptions from a larger, Zipf-like vocabulary, so common terms have
+ * posting lists of tens of thousands of products. {@code update} reindexes one product, as a
+ * product write does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductSearchBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int NAME_WORDS = 4_000;
+    private static final int DESCRIPTION_WORDS = 50_000;
+
+    @Param({"exact", "prefix", "typo", "multi"})
+    public String query;
+
+    private InvertedIndex index;
+    private String[] nameWords;
+    private String[] descriptionWords;
+    private UUID[] ids;
+    private String text;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random seed = new Random(42);
+        nameWords = words(seed, NAME_WORDS);
+        descriptionWords = words(seed, DESCRIPTION_WORDS);
+        index = new InvertedIndex();
+        ids = new UUID[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids[i] = UUID.randomUUID();
+            index.put(ids[i], name(seed), description(seed));
+        }
+        // A frequent name word, so the query walks long posting lists.
+        String word = nameWords[3];
+        text = switch (query) {
+            case "exact" -> word;
+            case "prefix" -> word.substring(0, 3);
+            case "typo" -> word.substring(0, 2) + word.charAt(3) + word.charAt(2) + word.substring(4);
+            default -> word + " " + nameWords[40] + " " + descriptionWords[100];
+        };
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public InvertedIndex.Hits search() {
+        return index.search(text, 0, 20);
+    }
+
+    @Benchmark
+    public void update() {
+        int i = random.nextInt(PRODUCTS);
+        index.put(ids[i], name(random), description(random));
+    }
+
+    private String name(Random random) {
+        return zipf(random, nameWords) + " " + zipf(random, nameWords) + " " + zipf(random, nameWords);
+    }
+
+    private String description(Random random) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            description.append(zipf(random, descriptionWords)).append(' ');
+        }
+        return description.toString();
+    }
+
+    // Squaring a uniform draw favours the first words, roughly like natural text.
+    private static String zipf(Random random, String[] words) {
+        double u = random.nextDouble();
+        return words[(int) (u * u * words.length)];
+    }
+
+    private static String[] words(Random random, int count) {
+        String consonants = "bcdfglmnprstv";
+        String vowels = "aeiou";
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 3 + random.nextInt(2);
+            for (int s = 0; s < syllables; s++) {
+                word.append(consonants.charAt(random.nextInt(consonants.length())))
+                        .append(vowels.charAt(random.nextInt(vowels.length())));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
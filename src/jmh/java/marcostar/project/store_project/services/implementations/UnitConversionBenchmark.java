@@ -0,0 +1,87 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.UnitConversion;
+import marcostar.project.store_project.entities.enums.UnitCategory;
+import marcostar.project.store_project.repositories.UnitConversionRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitConversionBenchmark {
+
+    private UnitConversionServiceImpl unitConversionService;
+    private UUID gram;
+    private UUID kilogram;
+    private UUID milligram;
+    private BigDecimal quantity;
+
+    @Setup
+    public void setUp() {
+        Unit gramUnit = unit("GRAM", true);
+        Unit kilogramUnit = unit("KILOGRAM", false);
+        Unit milligramUnit = unit("MILLIGRAM", false);
+        gram = gramUnit.getId();
+        kilogram = kilogramUnit.getId();
+        milligram = milligramUnit.getId();
+
+        UnitRepository unitRepository = mock(UnitRepository.class);
+        UnitConversionRepository unitConversionRepository = mock(UnitConversionRepository.class);
+        when(unitRepository.findAll()).thenReturn(List.of(gramUnit, kilogramUnit, milligramUnit));
+        when(unitConversionRepository.findAllWithUnits()).thenReturn(List.of(
+                new UnitConversion(kilogramUnit, gramUnit, new BigDecimal("1000")),
+                new UnitConversion(gramUnit, kilogramUnit, new BigDecimal("0.001")),
+                new UnitConversion(milligramUnit, gramUnit, new BigDecimal("0.001")),
+                new UnitConversion(gramUnit, milligramUnit, new BigDecimal("1000"))));
+
+        unitConversionService = new UnitConversionServiceImpl(unitConversionRepository, unitRepository,
+                mock(InvalidationBus.class), new SimpleMeterRegistry());
+        unitConversionService.currentGraph();
+        quantity = new BigDecimal("12.345");
+    }
+
+    private static Unit unit(String code, boolean isBaseUnit) {
+        Unit unit = new Unit(code, code, code, UnitCategory.WEIGHT, isBaseUnit);
+        unit.setId(UUID.randomUUID());
+        return unit;
+    }
+
+    @Benchmark
+    public BigDecimal convertIdentity() {
+        return unitConversionService.convert(quantity, gram, gram);
+    }
+
+    @Benchmark
+    public BigDecimal convertDirect() {
+        return unitConversionService.convert(quantity, kilogram, gram);
+    }
+
+    @Benchmark
+    public BigDecimal convertViaBase() {
+        return unitConversionService.convert(quantity, kilogram, milligram);
+    }
+}
@@ -0,0 +1,295 @@
+package marcostar.project.store_project.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import marcostar.project.store_project.StoreProjectApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Boots the application against an embedded Postgres, seeds it with {@link LoadTestSeeder} and
+ * drives a closed-loop mix of HTTP calls from {@code loadtest.clients} concurrent clients.
+ * Latencies are recorded per operation in HDR histograms; the summary goes to stdout and the
+ * full percentile distributions to {@code target/loadtest/<run>/<operation>.hgrm}.
+ * <p>
+ * Settings are system properties, e.g.
+ * {@code -Dloadtest.clients=128 -Dloadtest.mix=create-order=50,products=50 -Dloadtest.duration=PT2M}.
+ * With {@code -Dloadtest.compare-threading=true} the run is repeated on platform and then on virtual
+ * request threads.
+ */
+public final class LoadTestHarness {
+
+    enum Operation {
+        LOGIN("login", "POST /api/auth/login"),
+        PRODUCTS("products", "GET /api/products"),
+        CREATE_ORDER("create-order", "POST /api/orders"),
+        MY_ORDERS("my-orders", "GET /api/orders/my-orders");
+
+        private final String key;
+        private final String label;
+
+        Operation(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + key);
+        }
+    }
+
+    record Settings(int users, int products, int hotProducts, double hotRatio, int clients,
+            Duration warmup, Duration duration, Map<Operation, Integer> mix) {
+
+        static Settings fromSystemProperties() {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : System.getProperty("loadtest.mix", "login=10,products=50,create-order=30,my-orders=10").split(",")) {
+                String[] parts = entry.trim().split("=");
+                mix.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+            return new Settings(
+                    Integer.getInteger("loadtest.users", 50),
+                    Integer.getInteger("loadtest.products", 200),
+                    Integer.getInteger("loadtest.hot-products", 5),
+                    Double.parseDouble(System.getProperty("loadtest.hot-ratio", "0.8")),
+                    Integer.getInteger("loadtest.clients", 64),
+                    Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                    mix);
+        }
+    }
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Settings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private String baseUrl;
+    private List<String> tokens;
+    private List<UUID> productIds;
+    private UUID unitId;
+
+    LoadTestHarness(Settings settings) {
+        this.settings = settings;
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        if (Boolean.getBoolean("loadtest.compare-threading")) {
+            // Same mix against a fresh database, once per request-threading model.
+            if (Runtime.version().feature() < 21) {
+                System.out.println("WARNING: virtual threads need Java 21+, spring.threads.virtual.enabled is ignored on "
+                        + Runtime.version());
+            }
+            runOnce(settings, "platform threads", "--spring.threads.virtual.enabled=false");
+            runOnce(settings, "virtual threads", "--spring.threads.virtual.enabled=true");
+        } else {
+            runOnce(settings, "default threading");
+        }
+        System.exit(0);
+    }
+
+    private static void runOnce(Settings settings, String title, String... extraArgs) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start();
+                ConfigurableApplicationContext context = boot(postgres, settings, extraArgs)) {
+            LoadTestHarness harness = new LoadTestHarness(settings);
+            harness.prepare(context);
+            harness.run();
+            System.out.printf("%n=== %s ===", title);
+            harness.report(System.out, title.replace(' ', '-'));
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(EmbeddedPostgres postgres, Settings settings, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--jwt.secret=loadtest-secret-loadtest-secret-loadtest-secret",
+                "--spring.devtools.restart.enabled=false",
+                "--loadtest.users=" + settings.users(),
+                "--loadtest.products=" + settings.products()));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(StoreProjectApplication.class)
+                .profiles("loadtest")
+                .run(args.toArray(String[]::new));
+    }
+
+    void prepare(ConfigurableApplicationContext context) throws IOException, InterruptedException {
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        productIds = context.getBean(ProductRepository.class)
+                .findAll(PageRequest.of(0, settings.products(), Sort.by("createdAt")))
+                .map(Product::getId)
+                .getContent();
+        unitId = context.getBean(UnitRepository.class).findByCode("KILOGRAM").orElseThrow().getId();
+        tokens = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            HttpResponse<String> response = httpClient.send(loginRequest(i), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for load-test user " + i + ": " + response.body());
+            }
+            tokens.add(jsonMapper.readTree(response.body()).get("token").asString());
+        }
+    }
+
+    void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        System.out.printf("Running %d clients: %s warmup, %s measured, mix %s%n",
+                settings.clients(), settings.warmup(), settings.duration(), settings.mix());
+
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            clients.submit(() -> drive(measureFrom, end));
+        }
+        clients.shutdown();
+        clients.awaitTermination(settings.warmup().plus(settings.duration()).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void drive(long measureFrom, long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            HttpRequest request = request(operation, random);
+            long started = System.nanoTime();
+            boolean failed;
+            try {
+                failed = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (IOException ex) {
+                failed = true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= end) {
+                histograms.get(operation).recordValue(Math.min(finished - started, HIGHEST_TRACKABLE_NANOS));
+                if (failed) {
+                    errors.get(operation).increment();
+                }
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        return switch (operation) {
+            case LOGIN -> loginRequest(random.nextInt(settings.users()));
+            case PRODUCTS -> authorized(random, "/api/products?size=20&page=" + random.nextInt(Math.max(1, settings.products() / 20)))
+                    .GET()
+                    .build();
+            case CREATE_ORDER -> authorized(random, "/api/orders")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(orderBody(random)))
+                    .build();
+            case MY_ORDERS -> authorized(random, "/api/orders/my-orders?size=20").GET().build();
+        };
+    }
+
+    private HttpRequest loginRequest(int user) {
+        String body = String.format("{\"username\":\"%s%d\",\"password\":\"%s\"}",
+                LoadTestSeeder.USERNAME_PREFIX, user, LoadTestSeeder.PASSWORD);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(ThreadLocalRandom random, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+    }
+
+    // One to three lines; each line hits a hot SKU with probability loadtest.hot-ratio.
+    private String orderBody(ThreadLocalRandom random) {
+        int lines = 1 + random.nextInt(3);
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < lines; i++) {
+            int hot = Math.min(settings.hotProducts(), productIds.size());
+            UUID productId = hot > 0 && random.nextDouble() < settings.hotRatio()
+                    ? productIds.get(random.nextInt(hot))
+                    : productIds.get(random.nextInt(productIds.size()));
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(String.format("{\"productId\":\"%s\",\"unitId\":\"%s\",\"quantity\":%d}",
+                    productId, unitId, 1 + random.nextInt(5)));
+        }
+        return body.append("]}").toString();
+    }
+
+    void report(PrintStream out, String run) throws IOException {
+        double seconds = settings.duration().toNanos() / 1e9;
+        Path directory = Path.of("target", "loadtest", run);
+        Files.createDirectories(directory);
+
+        out.printf("%n%-28s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.printf("%-28s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().label,
+                    histogram.getTotalCount(),
+                    errors.get(entry.getKey()).sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key + ".hgrm")))) {
+                histogram.outputPercentileDistribution(file, 1_000_000.0);
+            }
+        }
+        out.println("\nHDR percentile distributions (ms) written to " + directory.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,101 @@
+package marcostar.project.store_project.loadtest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Role;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.entities.enums.TypeRole;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.RoleRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.repositories.UserRepository;
+
+/**
+ * Seeds load-test users and products once the regular seeders have created roles and units. Users get the ADMIN role
+ * because order creation requires it; they all share one BCrypt hash to keep seeding fast.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestSeeder {
+
+    static final String USERNAME_PREFIX = "loadtest-user-";
+    static final String PASSWORD = "loadtest-password";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final ProductRepository productRepository;
+    private final UnitRepository unitRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.users:50}")
+    private int users;
+
+    @Value("${loadtest.products:200}")
+    private int products;
+
+    @Value("${loadtest.product-stock:1000000000}")
+    private BigDecimal productStock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seed() {
+        seedUsers();
+        seedProducts();
+    }
+
+    private void seedUsers() {
+        Role role = roleRepository.findByTypeRole(TypeRole.ADMIN)
+                .orElseThrow(() -> new IllegalStateException("ADMIN role not seeded"));
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = USERNAME_PREFIX + i;
+            if (!userRepository.existsByUsername(username)) {
+                batch.add(User.builder()
+                        .username(username)
+                        .firstname("Load")
+                        .lastname("Test " + i)
+                        .email(username + "@loadtest.local")
+                        .password(passwordHash)
+                        .role(role)
+                        .build());
+            }
+        }
+        userRepository.saveAll(batch);
+        System.out.println("Seeded load-test users: " + batch.size());
+    }
+
+    private void seedProducts() {
+        if (productRepository.count() >= products) {
+            return;
+        }
+        Unit kilogram = unitRepository.findByCode("KILOGRAM")
+                .orElseThrow(() -> new IllegalStateException("KILOGRAM unit not seeded"));
+        List<Product> batch = new ArrayList<>();
+        for (long i = productRepository.count(); i < products; i++) {
+            batch.add(Product.builder()
+                    .name("Load test product " + i)
+                    .description("Seeded for load testing")
+                    .price(new BigDecimal("9.99"))
+                    .stock(productStock)
+                    .unit(kilogram)
+                    .build());
+        }
+        productRepository.saveAll(batch);
+        System.out.println("Seeded load-test products: " + batch.size());
+    }
+}
@@ -6,6 +6,7 @@ import marcostar.project.store_project.entities.UnitConversion;
 import marcostar.project.store_project.entities.enums.UnitCategory;
 import marcostar.project.store_project.repositories.UnitConversionRepository;
 import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.services.UnitConversionService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -22,12 +23,14 @@ public class UnitSeeder implements CommandLineRunner {
 
     private final UnitRepository unitRepository;
     private final UnitConversionRepository unitConversionRepository;
+    private final UnitConversionService unitConversionService;
 
     @Override
     @Transactional
     public void run(String... args) {
         seedUnits();
         seedConversions();
+        unitConversionService.refresh();
     }
 
     private void seedUnits() {
@@ -0,0 +1,156 @@
+package marcostar.project.store_project.config.invalidation;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cross-node cache invalidation over Postgres {@code LISTEN/NOTIFY}.
+ * <p>
+ * {@link #publish} runs {@code pg_notify} on the caller's connection, so inside a transaction the
+ * message is only delivered once it commits. Each node keeps one dedicated connection listening on
+ * {@link #CHANNEL} and dispatches messages from other nodes to the subscribed caches. On any
+ * other database the bus is local-only and publishing is a no-op.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidationBus implements SmartLifecycle {
+
+	static final String CHANNEL = "store_invalidation";
+	private static final String SEPARATOR = "|";
+	private static final int POLL_TIMEOUT_MS = 500;
+	private static final long RECONNECT_DELAY_MS = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Value("${spring.datasource.url}")
+	private String url;
+
+	@Value("${spring.datasource.username:}")
+	private String username;
+
+	@Value("${spring.datasource.password:}")
+	private String password;
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final Map<InvalidationTopic, List<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+	private volatile boolean running;
+	private volatile Thread listenerThread;
+
+	public void subscribe(InvalidationTopic topic, InvalidationListener listener) {
+		listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+	}
+
+	public void publish(InvalidationTopic topic, String key) {
+		if (!isPostgres()) {
+			return;
+		}
+		String payload = nodeId + SEPARATOR + topic.name() + SEPARATOR + (key == null ? "" : key);
+		jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, payload);
+	}
+
+	@Override
+	public void start() {
+		if (!isPostgres()) {
+			return;
+		}
+		running = true;
+		listenerThread = new Thread(this::listen, "invalidation-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		Thread thread = listenerThread;
+		if (thread != null) {
+			thread.interrupt();
+			try {
+				thread.join(POLL_TIMEOUT_MS * 2L);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private boolean isPostgres() {
+		return url != null && url.startsWith("jdbc:postgresql:");
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(url, username, password)) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				// Anything published while we were not listening is lost, so every cache resyncs.
+				listeners.values().forEach(topicListeners -> topicListeners.forEach(listener -> apply(listener, null)));
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							dispatch(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException ex) {
+				if (!running) {
+					return;
+				}
+				log.warn("Invalidation listener lost its connection, reconnecting", ex);
+				try {
+					Thread.sleep(RECONNECT_DELAY_MS);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+			}
+		}
+	}
+
+	private void dispatch(String payload) {
+		String[] parts = payload.split("\\" + SEPARATOR, 3);
+		if (parts.length != 3 || nodeId.equals(parts[0])) {
+			return;
+		}
+		InvalidationTopic topic;
+		try {
+			topic = InvalidationTopic.valueOf(parts[1]);
+		} catch (IllegalArgumentException ex) {
+			return;
+		}
+		String key = parts[2].isEmpty() ? null : parts[2];
+		listeners.getOrDefault(topic, List.of()).forEach(listener -> apply(listener, key));
+	}
+
+	private void apply(InvalidationListener listener, String key) {
+		try {
+			listener.onInvalidation(key);
+		} catch (RuntimeException ex) {
+			log.error("Failed to apply invalidation", ex);
+		}
+	}
+}
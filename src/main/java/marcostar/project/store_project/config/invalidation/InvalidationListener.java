@@ -0,0 +1,11 @@
+package marcostar.project.store_project.config.invalidation;
+
+@FunctionalInterface
+public interface InvalidationListener {
+
+	/**
+	 * Applies an invalidation published by another node. {@code key} is {@code null} when
+	 * notifications may have been missed (listener reconnect) and the whole cache must be resynced.
+	 */
+	void onInvalidation(String key);
+}
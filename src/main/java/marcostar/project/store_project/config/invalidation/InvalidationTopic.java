@@ -0,0 +1,10 @@
+package marcostar.project.store_project.config.invalidation;
+
+public enum InvalidationTopic {
+	UNITS,
+	PRINCIPAL,
+	ALL_PRINCIPALS,
+	REVOKED_TOKEN,
+	PRODUCT,
+	PRODUCT_CATALOG
+}
@@ -0,0 +1,25 @@
+package marcostar.project.store_project.config.metrics;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+	// Static so that the post-processor is registered before the DataSource bean is created.
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+					return new StatementCountingDataSource(dataSource);
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,42 @@
+package marcostar.project.store_project.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times consecutive phases of one operation: each {@link #mark(String)} records the time since
+ * the previous mark under {@code <name>.phase}, and {@link #stop()} records the whole operation
+ * under {@code <name>}. An operation that throws only records the phases it completed.
+ */
+public final class PhaseTimer {
+
+	private final MeterRegistry meterRegistry;
+	private final String name;
+	private final String operation;
+	private final long startedAt;
+	private long lastMark;
+
+	private PhaseTimer(MeterRegistry meterRegistry, String name, String operation) {
+		this.meterRegistry = meterRegistry;
+		this.name = name;
+		this.operation = operation;
+		this.startedAt = meterRegistry.config().clock().monotonicTime();
+		this.lastMark = startedAt;
+	}
+
+	public static PhaseTimer start(MeterRegistry meterRegistry, String name, String operation) {
+		return new PhaseTimer(meterRegistry, name, operation);
+	}
+
+	public void mark(String phase) {
+		long now = meterRegistry.config().clock().monotonicTime();
+		meterRegistry.timer(name + ".phase", "operation", operation, "phase", phase)
+				.record(now - lastMark, TimeUnit.NANOSECONDS);
+		lastMark = now;
+	}
+
+	public void stop() {
+		long now = meterRegistry.config().clock().monotonicTime();
+		meterRegistry.timer(name, "operation", operation).record(now - startedAt, TimeUnit.NANOSECONDS);
+	}
+}
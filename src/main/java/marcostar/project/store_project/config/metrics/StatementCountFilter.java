@@ -0,0 +1,87 @@
+package marcostar.project.store_project.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements each request issued, security filters included. The count is recorded
+ * as the {@code store.http.server.statements} summary, logged when it exceeds
+ * {@code store.sql-statements.budget}, and returned in {@link #HEADER} when
+ * {@code store.sql-statements.header} is set (the dev profile does).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "X-SQL-Statement-Count";
+	static final String METRIC_NAME = "store.http.server.statements";
+
+	private final MeterRegistry meterRegistry;
+
+	@Value("${store.sql-statements.budget:10}")
+	private int budget;
+
+	// Off by default: the count tells callers how much database work an endpoint does.
+	@Value("${store.sql-statements.header:false}")
+	private boolean exposeHeader;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		HttpServletResponse target = exposeHeader ? new HeaderOnCommitResponse(response) : response;
+		StatementCounter.begin();
+		try {
+			filterChain.doFilter(request, target);
+		} finally {
+			int statements = StatementCounter.end();
+			if (exposeHeader && !response.isCommitted()) {
+				response.setIntHeader(HEADER, statements);
+			}
+			String uri = uriPattern(request);
+			DistributionSummary.builder(METRIC_NAME)
+					.baseUnit("statements")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.register(meterRegistry)
+					.record(statements);
+			if (statements > budget) {
+				log.warn("{} {} issued {} SQL statements (budget {})", request.getMethod(), uri, statements, budget);
+			}
+		}
+	}
+
+	static String uriPattern(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern == null ? "UNKNOWN" : pattern.toString();
+	}
+
+	// Headers are frozen once the body starts flushing, so the count so far is written just before.
+	private static final class HeaderOnCommitResponse extends OnCommittedResponseWrapper {
+
+		private HeaderOnCommitResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			setIntHeader(HEADER, StatementCounter.current());
+		}
+	}
+}
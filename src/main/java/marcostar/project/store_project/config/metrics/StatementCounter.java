@@ -0,0 +1,36 @@
+package marcostar.project.store_project.config.metrics;
+
+/**
+ * Counts the SQL statements executed on the current thread between {@link #begin()} and
+ * {@link #end()}, as reported by {@link StatementCountingDataSource}. Statements outside such a
+ * scope (startup, scheduled jobs) are not counted.
+ */
+public final class StatementCounter {
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	private StatementCounter() {
+	}
+
+	public static void begin() {
+		COUNT.set(new int[1]);
+	}
+
+	public static int current() {
+		int[] count = COUNT.get();
+		return count == null ? 0 : count[0];
+	}
+
+	public static int end() {
+		int count = current();
+		COUNT.remove();
+		return count;
+	}
+
+	static void increment() {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+	}
+}
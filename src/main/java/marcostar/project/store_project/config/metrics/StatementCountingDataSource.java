@@ -0,0 +1,75 @@
+package marcostar.project.store_project.config.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application {@link DataSource} so that every statement execution is reported to
+ * {@link StatementCounter}, whoever issues it: Hibernate, {@code JdbcTemplate} or plain JDBC. A
+ * JDBC batch counts once, as it is sent in one round trip.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+	public StatementCountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return proxy(Connection.class, super.getConnection(), StatementCountingDataSource::wrapStatements);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return proxy(Connection.class, super.getConnection(username, password), StatementCountingDataSource::wrapStatements);
+	}
+
+	// createStatement, prepareStatement and prepareCall all return a Statement subtype.
+	private static Object wrapStatements(Object target, Method method, Object[] args) throws Throwable {
+		Object result = invoke(target, method, args);
+		if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+			return proxy(method.getReturnType(), result, StatementCountingDataSource::countExecutions);
+		}
+		return result;
+	}
+
+	private static Object countExecutions(Object target, Method method, Object[] args) throws Throwable {
+		if (method.getName().startsWith("execute")) {
+			StatementCounter.increment();
+		}
+		return invoke(target, method, args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<?> type, Object target, Handler handler) {
+		InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+			// Identity of the proxy itself, so that Spring finds the connection it bound.
+			case "equals" -> proxy == args[0];
+			case "hashCode" -> System.identityHashCode(proxy);
+			default -> handler.handle(target, method, args);
+		};
+		return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+				new Class<?>[] { type }, invocationHandler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object handle(Object target, Method method, Object[] args) throws Throwable;
+	}
+}
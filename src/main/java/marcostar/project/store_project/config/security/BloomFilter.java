@@ -0,0 +1,64 @@
+package marcostar.project.store_project.config.security;
+
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over Base64 SHA-256 digests. The digest bits are already uniform,
+ * so the k probe positions are derived by double hashing from its first 16 bytes.
+ */
+final class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+
+	private BloomFilter(long bitCount, int hashCount) {
+		this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+		this.bitCount = bitCount;
+		this.hashCount = hashCount;
+	}
+
+	static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(expectedInsertions, 1);
+		long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+		int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+		return new BloomFilter(m, k);
+	}
+
+	void put(String digest) {
+		byte[] bytes = Base64.getDecoder().decode(digest);
+		long h1 = toLong(bytes, 0);
+		long h2 = toLong(bytes, 8);
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitCount);
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			long current;
+			do {
+				current = bits.get(word);
+			} while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	boolean mightContain(String digest) {
+		byte[] bytes = Base64.getDecoder().decode(digest);
+		long h1 = toLong(bytes, 0);
+		long h2 = toLong(bytes, 8);
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitCount);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long toLong(byte[] bytes, int offset) {
+		long value = 0;
+		for (int i = offset; i < offset + 8; i++) {
+			value = (value << 8) | (bytes[i] & 0xFF);
+		}
+		return value;
+	}
+}
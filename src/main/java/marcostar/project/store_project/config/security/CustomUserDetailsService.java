@@ -1,22 +1,130 @@
 package marcostar.project.store_project.config.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.entities.User;
 import marcostar.project.store_project.repositories.UserRepository;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+	static final String CACHE_NAME = "principals";
+
 	private final UserRepository UserRepository;
+	private final MeterRegistry meterRegistry;
+	private final InvalidationBus invalidationBus;
+
+	@Value("${security.principal-cache.max-size:10000}")
+	private long maxSize;
+
+	@Value("${security.principal-cache.ttl:PT5M}")
+	private Duration ttl;
+
+	// Users with their role and privileges, so authenticated requests skip the users/roles queries.
+	// Async so that concurrent misses on one username share a single load.
+	private AsyncCache<String, UserDetails> principals;
+
+	@PostConstruct
+	void init() {
+		principals = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, principals.synchronous(), CACHE_NAME);
+		invalidationBus.subscribe(InvalidationTopic.PRINCIPAL, key -> {
+			if (key == null) {
+				principals.synchronous().invalidateAll();
+				return;
+			}
+			String[] parts = key.split(":", 2);
+			evict(UUID.fromString(parts[0]), parts[1]);
+		});
+		invalidationBus.subscribe(InvalidationTopic.ALL_PRINCIPALS, key -> principals.synchronous().invalidateAll());
+	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		return UserRepository.findByUsername(username)
-				.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+		// The first miss installs an empty future and loads on the calling thread, outside
+		// Caffeine's compute: the JDBC call must not run under the map's bin lock, which would pin
+		// the carrier when requests run on virtual threads. Concurrent misses wait on that future.
+		CompletableFuture<UserDetails> loading = new CompletableFuture<>();
+		CompletableFuture<UserDetails> user = principals.get(username, (key, executor) -> loading);
+		if (user == loading) {
+			try {
+				loading.complete(UserRepository.findByUsername(username)
+						.orElseThrow(() -> new UsernameNotFoundException("User not found")));
+			} catch (RuntimeException e) {
+				// Failed futures are dropped by the cache, so unknown usernames are not cached.
+				loading.completeExceptionally(e);
+			}
+		}
+		try {
+			return user.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	public void evict(String username) {
+		principals.synchronous().invalidate(username);
+		afterCommit(() -> principals.synchronous().invalidate(username));
+	}
+
+	public void evict(User user) {
+		evict(user.getId(), user.getUsername());
+	}
+
+	// Also drops entries cached under a previous username of the same user.
+	public void evict(UUID userId, String username) {
+		Runnable action = () -> principals.synchronous().asMap().values()
+				.removeIf(cached -> cached instanceof User other && userId.equals(other.getId()));
+		evict(username);
+		action.run();
+		afterCommit(action);
+	}
+
+	public void evictAll() {
+		principals.synchronous().invalidateAll();
+		afterCommit(principals.synchronous()::invalidateAll);
+	}
+
+	public CacheStats stats() {
+		return principals.synchronous().stats();
+	}
+
+	// A request running while the write is in flight could otherwise cache the old row again.
+	private void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
 	}
-}
\ No newline at end of file
+}
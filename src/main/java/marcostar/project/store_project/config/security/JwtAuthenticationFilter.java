@@ -1,5 +1,8 @@
 package marcostar.project.store_project.config.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +21,13 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+	private static final String FILTER_METRIC = "store.security.jwt.filter";
+
 	private final JwtService jwtService;
 	private final CustomUserDetailsService userDetailsService;
 	private final TokenBlacklistService tokenBlacklistService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+	private final MeterRegistry meterRegistry;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -32,27 +38,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			return;
 		}
 
+		// Times authentication only; the rest of the chain runs after the sample is stopped.
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "rejected";
 		try {
 			String token = authHeader.substring(7);
 			if (tokenBlacklistService.isBlacklisted(token)) {
+				sample.stop(meterRegistry.timer(FILTER_METRIC, "outcome", "revoked"));
+				sample = null;
 				filterChain.doFilter(request, response);
 				return;
 			}
-			String username = jwtService.extractUsername(token);
+			Claims claims = jwtService.parseClaims(token);
+			String username = claims.getSubject();
 
 			if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 				UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-				if (jwtService.isTokenValid(token, userDetails)) {
+				if (jwtService.isTokenValid(claims, userDetails)) {
 					UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
 							userDetails,
 							null,
 							userDetails.getAuthorities());
 					authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 					SecurityContextHolder.getContext().setAuthentication(authToken);
+					outcome = "authenticated";
 				}
 			}
+			sample.stop(meterRegistry.timer(FILTER_METRIC, "outcome", outcome));
+			sample = null;
 			filterChain.doFilter(request, response);
 		} catch (Exception ex) {
+			if (sample != null) {
+				sample.stop(meterRegistry.timer(FILTER_METRIC, "outcome", "error"));
+			}
 			handlerExceptionResolver.resolveException(request, response, null, ex);
 		}
 
@@ -1,10 +1,19 @@
 package marcostar.project.store_project.config.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,44 +28,89 @@ public class JwtService {
 	@Value("${jwt.expiration-ms}")
 	private long jwtExpirationMs;
 
+	@Value("${jwt.verified-cache-size:10000}")
+	private long verifiedCacheSize;
+
+	private SecretKey signingKey;
+	private JwtParser parser;
+	// Claims of tokens whose signature has already been checked, keyed by token digest and
+	// evicted at the token's own expiration.
+	private Cache<String, Claims> verifiedTokens;
+
+	@PostConstruct
+	void init() {
+		signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+		parser = Jwts.parser().verifyWith(signingKey).build();
+		verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(verifiedCacheSize)
+				.expireAfter(new Expiry<String, Claims>() {
+					@Override
+					public long expireAfterCreate(String key, Claims claims, long currentTime) {
+						long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+
+					@Override
+					public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+
 	public String generateToken(UserDetails userDetails) {
 		Date now = new Date();
 		Date expiry = new Date(now.getTime() + jwtExpirationMs);
-		return Jwts.builder()
+		Claims claims = Jwts.claims()
 				.subject(userDetails.getUsername())
 				.issuedAt(now)
 				.expiration(expiry)
-				.signWith(getSigningKey())
+				.build();
+		String token = Jwts.builder()
+				.claims(claims)
+				.signWith(signingKey)
 				.compact();
+		verifiedTokens.put(digest(token), claims);
+		return token;
+	}
+
+	public Claims parseClaims(String token) {
+		String key = digest(token);
+		Claims claims = verifiedTokens.getIfPresent(key);
+		if (claims == null) {
+			claims = parser.parseSignedClaims(token).getPayload();
+			verifiedTokens.put(key, claims);
+		}
+		return claims;
 	}
 
 	public String extractUsername(String token) {
-		return getClaims(token).getSubject();
+		return parseClaims(token).getSubject();
 	}
 
 	public boolean isTokenValid(String token, UserDetails userDetails) {
-		String username = extractUsername(token);
-		return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+		return isTokenValid(parseClaims(token), userDetails);
 	}
 
-	private boolean isTokenExpired(String token) {
-		Date expiration = getClaims(token).getExpiration();
-		return expiration.before(new Date());
+	public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+		return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
 	}
 
 	public Date extractExpiration(String token) {
-        return getClaims(token).getExpiration();
+        return parseClaims(token).getExpiration();
     }
 
-	private Claims getClaims(String token) {
-		return Jwts.parser()
-				.verifyWith(getSigningKey())
-				.build()
-				.parseSignedClaims(token)
-				.getPayload();
-	}
-
-	private SecretKey getSigningKey() {
-		return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+	static String digest(String token) {
+		try {
+			MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
 	}
-}
\ No newline at end of file
+}
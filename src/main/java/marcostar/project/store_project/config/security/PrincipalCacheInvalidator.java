@@ -0,0 +1,36 @@
+package marcostar.project.store_project.config.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.entities.Role;
+import marcostar.project.store_project.entities.User;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User} and {@link Role} that drops cached principals whenever
+ * one of them is updated or removed, whatever the write path, and tells the other nodes to do the same.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidator {
+
+	private final ObjectProvider<CustomUserDetailsService> userDetailsService;
+	private final ObjectProvider<InvalidationBus> invalidationBus;
+
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		if (entity instanceof User user) {
+			userDetailsService.ifAvailable(service -> service.evict(user));
+			invalidationBus.ifAvailable(bus -> bus.publish(InvalidationTopic.PRINCIPAL, user.getId() + ":" + user.getUsername()));
+		} else if (entity instanceof Role) {
+			userDetailsService.ifAvailable(CustomUserDetailsService::evictAll);
+			invalidationBus.ifAvailable(bus -> bus.publish(InvalidationTopic.ALL_PRINCIPALS, null));
+		}
+	}
+}
@@ -1,10 +1,22 @@
 package marcostar.project.store_project.config.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
 import marcostar.project.store_project.entities.BlacklistedToken;
 import marcostar.project.store_project.repositories.BlacklistedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 
@@ -12,33 +24,135 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TokenBlacklistService {
 
+	private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+	private static final String CHECK_METRIC = "store.security.blacklist.check";
+
 	private final BlacklistedTokenRepository blacklistedTokenRepository;
 	private final JwtService jwtService;
+	private final InvalidationBus invalidationBus;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${security.token-blacklist.expected-size:100000}")
+	private long expectedSize;
+
+	// Digest -> expiry of every revoked, unexpired token. The Bloom filter answers the common
+	// "not revoked" case without touching the map. Reloads and sweeps build a new pair and swap
+	// it in whole, so readers never see a half-filled map; writers serialize on writeLock.
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private volatile Revocations revocations =
+			new Revocations(new ConcurrentHashMap<>(), BloomFilter.create(1, BLOOM_FALSE_POSITIVE_RATE));
+	// result=bloom_miss is the fast path; not_revoked counts Bloom false positives.
+	private final Map<String, Timer> checkTimers = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void init() {
+		load();
+		invalidationBus.subscribe(InvalidationTopic.REVOKED_TOKEN, key -> {
+			if (key == null) {
+				load();
+				return;
+			}
+			String[] parts = key.split(":", 2);
+			remember(parts[0], Instant.ofEpochMilli(Long.parseLong(parts[1])));
+		});
+	}
+
+	void load() {
+		writeLock.lock();
+		try {
+			Map<String, Instant> loaded = new ConcurrentHashMap<>();
+			for (BlacklistedToken entry : blacklistedTokenRepository.findAllActive(Instant.now())) {
+				loaded.put(entry.getTokenDigest(), expiryOf(entry.getExpiresAt()));
+			}
+			revocations = revocationsOf(loaded);
+		} finally {
+			writeLock.unlock();
+		}
+	}
 
 	public void blacklist(String token) {
 		if (token == null || token.isBlank()) {
 			return;
 		}
-		if (blacklistedTokenRepository.existsByToken(token)) {
+		String digest = JwtService.digest(token);
+		if (revocations.tokens().containsKey(digest)) {
 			return;
 		}
 		Instant expiresAt = jwtService.extractExpiration(token).toInstant();
-		blacklistedTokenRepository.save(new BlacklistedToken(token, expiresAt));
+		blacklistedTokenRepository.insertIfAbsent(UUID.randomUUID(), digest, expiresAt);
+		remember(digest, expiresAt);
+		invalidationBus.publish(InvalidationTopic.REVOKED_TOKEN, digest + ":" + expiresAt.toEpochMilli());
 	}
 
 	public boolean isBlacklisted(String token) {
 		if (token == null || token.isBlank()) {
 			return false;
 		}
-		Optional<BlacklistedToken> entry = blacklistedTokenRepository.findByToken(token);
-		if (entry.isEmpty()) {
-			return false;
+		long start = System.nanoTime();
+		String digest = JwtService.digest(token);
+		Revocations current = revocations;
+		if (!current.filter().mightContain(digest)) {
+			return record("bloom_miss", start, false);
 		}
-		Instant expiresAt = entry.get().getExpiresAt();
-		if (expiresAt != null && expiresAt.isBefore(Instant.now())) {
-			blacklistedTokenRepository.delete(entry.get());
-			return false;
+		Instant expiresAt = current.tokens().get(digest);
+		if (expiresAt == null) {
+			return record("not_revoked", start, false);
+		}
+		if (expiresAt.isBefore(Instant.now())) {
+			current.tokens().remove(digest, expiresAt);
+			return record("not_revoked", start, false);
 		}
-		return true;
+		return record("revoked", start, true);
+	}
+
+	private boolean record(String result, long start, boolean blacklisted) {
+		checkTimers.computeIfAbsent(result, r -> meterRegistry.timer(CHECK_METRIC, "result", r))
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return blacklisted;
+	}
+
+	@Scheduled(fixedDelayString = "${security.token-blacklist.sweep-interval:PT10M}",
+			initialDelayString = "${security.token-blacklist.sweep-interval:PT10M}")
+	@Transactional
+	public int sweepExpired() {
+		Instant now = Instant.now();
+		int deleted = blacklistedTokenRepository.deleteExpired(now);
+		writeLock.lock();
+		try {
+			Map<String, Instant> kept = new ConcurrentHashMap<>(revocations.tokens());
+			kept.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+			revocations = revocationsOf(kept);
+		} finally {
+			writeLock.unlock();
+		}
+		return deleted;
+	}
+
+	int size() {
+		return revocations.tokens().size();
+	}
+
+	private void remember(String digest, Instant expiresAt) {
+		writeLock.lock();
+		try {
+			Revocations current = revocations;
+			current.tokens().put(digest, expiresAt);
+			current.filter().put(digest);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private Revocations revocationsOf(Map<String, Instant> tokens) {
+		BloomFilter filter = BloomFilter.create(Math.max(expectedSize, 2L * tokens.size()), BLOOM_FALSE_POSITIVE_RATE);
+		tokens.keySet().forEach(filter::put);
+		return new Revocations(tokens, filter);
+	}
+
+	private static Instant expiryOf(Instant expiresAt) {
+		return expiresAt == null ? Instant.MAX : expiresAt;
+	}
+
+	private record Revocations(Map<String, Instant> tokens, BloomFilter filter) {
 	}
-}
\ No newline at end of file
+}
@@ -1,16 +1,25 @@
 package marcostar.project.store_project.controllers;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.dtos.order.BulkOrderResult;
 import marcostar.project.store_project.dtos.order.OrderRequest;
 import marcostar.project.store_project.dtos.order.OrderResponse;
 import marcostar.project.store_project.dtos.order.OrderStatusRequest;
 import marcostar.project.store_project.dtos.order.OrderUpdateRequest;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
 import marcostar.project.store_project.services.OrderService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,7 +32,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -31,6 +44,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping
 	@PreAuthorize("hasRole('ADMIN')")
@@ -39,6 +53,32 @@ public class OrderController {
 		return ResponseEntity.ok(orderService.createOrder(request));
 	}
 
+	// Accepts NDJSON or a JSON array of orders and answers one NDJSON line per order, flushed as
+	// each batch commits. The body is read one order at a time, never as a whole list.
+	@PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public void createOrders(InputStream body, HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		OutputStream out = response.getOutputStream();
+		try (MappingIterator<OrderRequest> requests = objectMapper.readerFor(OrderRequest.class).readValues(body)) {
+			orderService.createOrders(requests, results -> writeLines(out, results));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void writeLines(OutputStream out, List<BulkOrderResult> results) {
+		try {
+			for (BulkOrderResult result : results) {
+				out.write(objectMapper.writeValueAsBytes(result));
+				out.write('\n');
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@GetMapping("/by-user/{userId}")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<Page<OrderResponse>> getOrders(
@@ -47,6 +87,15 @@ public class OrderController {
 		return ResponseEntity.ok(orderService.getOrdersForUser(userId, pageable));
 	}
 
+	@GetMapping("/by-user/{userId}/scroll")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<KeysetSlice<OrderResponse>> scrollOrders(
+			@PathVariable UUID userId,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(orderService.scrollOrdersForUser(userId, after, limit));
+	}
+
 	@GetMapping
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<Page<OrderResponse>> getAllOrders(
@@ -54,11 +103,33 @@ public class OrderController {
 		return ResponseEntity.ok(orderService.getAllOrders(pageable));
 	}
 
+	@GetMapping("/scroll")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<KeysetSlice<OrderResponse>> scrollAllOrders(
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(orderService.scrollAllOrders(after, limit));
+	}
+
 	@GetMapping("/my-orders")
 	@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
 	public ResponseEntity<Page<OrderResponse>> getMyOrders(
-			@PageableDefault(size = 20) Pageable pageable) {
-		return ResponseEntity.ok(orderService.getMyOrders(pageable));
+			@PageableDefault(size = 20) Pageable pageable,
+			WebRequest webRequest) {
+		// Taken before the page is read: a concurrent write can only make the tag older, never newer.
+		String etag = orderService.getMyOrdersETag();
+		if (webRequest.checkNotModified(etag)) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(etag).body(orderService.getMyOrders(pageable));
+	}
+
+	@GetMapping("/my-orders/scroll")
+	@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+	public ResponseEntity<KeysetSlice<OrderResponse>> scrollMyOrders(
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(orderService.scrollMyOrders(after, limit));
 	}
 
 	@GetMapping("/{id}")
@@ -5,11 +5,28 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.dtos.pagination.KeysetCursor;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentRequest;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentResponse;
+import marcostar.project.store_project.dtos.product.ProductImportCsv;
+import marcostar.project.store_project.dtos.product.ProductImportJson;
+import marcostar.project.store_project.dtos.product.ProductImportResult;
+import marcostar.project.store_project.dtos.product.ProductImportRow;
 import marcostar.project.store_project.dtos.product.ProductRequest;
 import marcostar.project.store_project.dtos.product.ProductResponse;
+import marcostar.project.store_project.dtos.stock.MovementExportFormat;
 import marcostar.project.store_project.entities.StockMovement;
 import marcostar.project.store_project.services.ProductService;
 import marcostar.project.store_project.services.StockService;
@@ -17,6 +34,7 @@ import marcostar.project.store_project.services.StockService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.data.web.PageableDefault;
@@ -27,7 +45,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/products")
@@ -38,6 +60,7 @@ public class ProductController {
 
 	private final ProductService productService;
 	private final StockService stockService;
+	private final ObjectMapper objectMapper;
 
 	@GetMapping
 	@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -55,20 +78,45 @@ public class ProductController {
 		return ResponseEntity.ok(productService.getAll(pageable));
 	}
 
+	@GetMapping("/search")
+	@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+	@Operation(
+		summary = "Recherche des produits",
+		description = "Recherche plein texte dans le nom et la description, triée par pertinence (BM25). Tolère les préfixes et les fautes de frappe ; le nom pèse plus que la description",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Produits trouvés, du plus pertinent au moins pertinent"),
+			@ApiResponse(responseCode = "400", description = "Recherche vide ou trop longue"),
+			@ApiResponse(responseCode = "401", description = "Non authentifié")
+		}
+	)
+	public ResponseEntity<Page<ProductResponse>> search(
+		@Parameter(description = "Texte recherché") @RequestParam String q,
+		@Parameter(description = "Paramètres de pagination (page, size)")
+		@PageableDefault(size = 20) Pageable pageable) {
+		return ResponseEntity.ok(productService.search(q, pageable));
+	}
+
 	@GetMapping("/{id}")
 	@PreAuthorize("hasAnyRole('USER', 'ADMIN')")
 	@Operation(
 		summary = "Récupère un produit par son ID",
-		description = "Retourne les détails d'un produit spécifique",
+		description = "Retourne les détails d'un produit spécifique. Renvoie un ETag ; avec If-None-Match, répond 304 si le produit n'a pas changé",
 		responses = {
 			@ApiResponse(responseCode = "200", description = "Produit trouvé"),
+			@ApiResponse(responseCode = "304", description = "Produit inchangé depuis l'ETag fourni"),
 			@ApiResponse(responseCode = "404", description = "Produit non trouvé"),
 			@ApiResponse(responseCode = "401", description = "Non authentifié")
 		}
 	)
 	public ResponseEntity<ProductResponse> getById(
-		@Parameter(description = "ID du produit") @PathVariable UUID id) {
-		return ResponseEntity.ok(productService.getById(id));
+		@Parameter(description = "ID du produit") @PathVariable UUID id,
+		WebRequest webRequest) {
+		// Served from the product cache, so a 304 usually costs no query and no serialization.
+		ProductResponse product = productService.getById(id);
+		if (webRequest.checkNotModified(product.getEtag())) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(product.getEtag()).body(product);
 	}
 
 	@GetMapping("/{id}/movements")
@@ -106,6 +154,48 @@ public class ProductController {
 		return ResponseEntity.ok(stockService.getAllMovements(pageable));
 	}
 
+	@GetMapping("/movements/scroll")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(
+		summary = "Parcourt les mouvements de stock par curseur",
+		description = "Retourne les mouvements du plus récent au plus ancien, sans requête COUNT. Passer nextCursor dans 'after' pour obtenir la tranche suivante",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Tranche de mouvements récupérée"),
+			@ApiResponse(responseCode = "400", description = "Curseur invalide"),
+			@ApiResponse(responseCode = "401", description = "Non authentifié")
+		}
+	)
+	public ResponseEntity<KeysetSlice<StockMovement>> scrollAllMovements(
+		@Parameter(description = "Curseur opaque renvoyé par la tranche précédente") @RequestParam(required = false) String after,
+		@Parameter(description = "Nombre maximum d'éléments (1-100)") @RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(stockService.scrollAllMovements(after, limit));
+	}
+
+	@GetMapping("/movements/export")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(
+		summary = "Exporte les mouvements de stock en flux",
+		description = "Diffuse les mouvements du plus ancien au plus récent en NDJSON ou CSV, sans limite de taille. Chaque ligne porte un curseur ; le passer dans 'after' reprend l'export juste après cette ligne",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Export en cours de diffusion"),
+			@ApiResponse(responseCode = "400", description = "Format ou curseur invalide"),
+			@ApiResponse(responseCode = "401", description = "Non authentifié")
+		}
+	)
+	public ResponseEntity<StreamingResponseBody> exportMovements(
+		@Parameter(description = "Début de la période, inclus (ISO-8601)") @RequestParam(required = false) Instant from,
+		@Parameter(description = "Fin de la période, exclue (ISO-8601)") @RequestParam(required = false) Instant to,
+		@Parameter(description = "ID du produit") @RequestParam(required = false) UUID productId,
+		@Parameter(description = "Curseur de la dernière ligne reçue") @RequestParam(required = false) String after,
+		@Parameter(description = "ndjson ou csv") @RequestParam(defaultValue = "ndjson") String format) {
+		MovementExportFormat exportFormat = MovementExportFormat.of(format);
+		KeysetCursor cursor = after == null || after.isBlank() ? null : KeysetCursor.decode(after);
+		StreamingResponseBody body = out -> stockService.exportMovements(from, to, productId, cursor, exportFormat, out);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+				.body(body);
+	}
+
 	@PostMapping
 	@PreAuthorize("hasRole('ADMIN')")
 	@Operation(
@@ -121,6 +211,63 @@ public class ProductController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(productService.create(request));
 	}
 
+	@PostMapping(value = "/import",
+		consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+		produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(
+		summary = "Importer des produits en masse",
+		description = "Lit un produit par ligne (NDJSON ou tableau JSON : name, description, price, stock, unit) et les insère par lots JDBC avec leur mouvement de stock initial. Répond une ligne NDJSON par produit, envoyée dès que son lot est validé ; une ligne invalide est rejetée sans interrompre l'import",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Résultats diffusés ligne par ligne"),
+			@ApiResponse(responseCode = "403", description = "Accès refusé - Rôle ADMIN requis")
+		}
+	)
+	public void importProducts(InputStream body, HttpServletResponse response) throws IOException {
+		try (ProductImportJson rows = new ProductImportJson(objectMapper, body)) {
+			importRows(rows, response);
+		}
+	}
+
+	@PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(
+		summary = "Importer des produits en masse depuis un CSV",
+		description = "Même import à partir d'un CSV UTF-8 dont l'en-tête nomme les colonnes name, price, unit et, en option, description et stock",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Résultats diffusés ligne par ligne"),
+			@ApiResponse(responseCode = "400", description = "En-tête CSV absent ou incomplet"),
+			@ApiResponse(responseCode = "403", description = "Accès refusé - Rôle ADMIN requis")
+		}
+	)
+	public void importProductsCsv(InputStream body, HttpServletResponse response) throws IOException {
+		try (ProductImportCsv rows = new ProductImportCsv(body)) {
+			importRows(rows, response);
+		}
+	}
+
+	private void importRows(Iterator<ProductImportRow> rows, HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		OutputStream out = response.getOutputStream();
+		try {
+			productService.importProducts(rows, results -> writeLines(out, results));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void writeLines(OutputStream out, List<ProductImportResult> results) {
+		try {
+			for (ProductImportResult result : results) {
+				out.write(objectMapper.writeValueAsBytes(result));
+				out.write('\n');
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@PutMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
 	@Operation(
@@ -139,6 +286,21 @@ public class ProductController {
 		return ResponseEntity.ok(productService.update(id, request));
 	}
 
+	@PostMapping("/adjust")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(
+		summary = "Ajuster prix et stocks en masse",
+		description = "Change le prix (valeur absolue ou pourcentage) et/ou le stock (delta signé) des produits sélectionnés par IDs et/ou filtre (unité, nom, fourchette de prix), en une transaction. Chaque changement de stock est enregistré comme mouvement ADJUSTMENT",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "Nombre de produits modifiés et de mouvements enregistrés"),
+			@ApiResponse(responseCode = "400", description = "Sélection ou changement absent, ou stock insuffisant"),
+			@ApiResponse(responseCode = "403", description = "Accès refusé - Rôle ADMIN requis")
+		}
+	)
+	public ResponseEntity<ProductAdjustmentResponse> adjust(@Valid @RequestBody ProductAdjustmentRequest request) {
+		return ResponseEntity.ok(productService.adjust(request));
+	}
+
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
 	@Operation(
@@ -19,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
@@ -34,19 +35,26 @@ public class UnitController {
     @GetMapping
     @Operation(
         summary = "Liste toutes les unités",
-        description = "Récupère toutes les unités de mesure. Peut être filtré par catégorie (WEIGHT, VOLUME, QUANTITY)",
+        description = "Récupère toutes les unités de mesure. Peut être filtré par catégorie (WEIGHT, VOLUME, QUANTITY). Renvoie un ETag ; avec If-None-Match, répond 304 si aucune unité n'a changé",
         responses = {
             @ApiResponse(responseCode = "200", description = "Liste des unités récupérée avec succès"),
+            @ApiResponse(responseCode = "304", description = "Unités inchangées depuis l'ETag fourni"),
             @ApiResponse(responseCode = "401", description = "Non authentifié")
         }
     )
     public ResponseEntity<List<UnitResponse>> getAllUnits(
             @Parameter(description = "Filtrer par catégorie (WEIGHT, VOLUME, QUANTITY)")
-            @RequestParam(required = false) UnitCategory category) {
-        if (category != null) {
-            return ResponseEntity.ok(unitService.getUnitsByCategory(category));
+            @RequestParam(required = false) UnitCategory category,
+            WebRequest webRequest) {
+        // Taken before the list is read: a concurrent write can only make the tag older, never newer.
+        String etag = unitService.getUnitsETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
-        return ResponseEntity.ok(unitService.getAllUnits());
+        List<UnitResponse> units = category != null
+                ? unitService.getUnitsByCategory(category)
+                : unitService.getAllUnits();
+        return ResponseEntity.ok().eTag(etag).body(units);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,32 @@
+package marcostar.project.store_project.dtos.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+// One line of the bulk response; index is the position of the order in the request body.
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResult {
+	private int index;
+	private Status status;
+	private OrderResponse order;
+	private String error;
+
+	public enum Status {
+		CREATED,
+		FAILED
+	}
+
+	public static BulkOrderResult created(int index, OrderResponse order) {
+		return new BulkOrderResult(index, Status.CREATED, order, null);
+	}
+
+	public static BulkOrderResult failed(int index, String error) {
+		return new BulkOrderResult(index, Status.FAILED, null, error);
+	}
+}
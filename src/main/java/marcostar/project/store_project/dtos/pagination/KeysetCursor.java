@@ -0,0 +1,46 @@
+package marcostar.project.store_project.dtos.pagination;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset slice or export, ordered by {@code (created_at, id)}.
+ * Encoded as an opaque URL-safe token that keeps the full timestamp precision of the column.
+ */
+public record KeysetCursor(Timestamp createdAt, UUID id) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static KeysetCursor of(Date createdAt, UUID id) {
+        return new KeysetCursor(createdAt instanceof Timestamp ts ? ts : new Timestamp(createdAt.getTime()), id);
+    }
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(instant.getEpochSecond())
+                .putInt(instant.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static KeysetCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        return new KeysetCursor(Timestamp.from(instant), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,17 @@
+package marcostar.project.store_project.dtos.pagination;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class KeysetSlice<T> {
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	private String nextCursor;
+}
@@ -0,0 +1,44 @@
+package marcostar.project.store_project.dtos.product;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+
+// Selects products by id, by filter, or both (every given criterion must match), then changes
+// their price and/or stock. price and pricePercent are exclusive.
+@Data
+public class ProductAdjustmentRequest {
+	@Size(max = 10_000)
+	private List<UUID> productIds;
+
+	private UUID unitId;
+
+	@Size(max = 255)
+	private String nameContains;
+
+	private BigDecimal minPrice;
+
+	private BigDecimal maxPrice;
+
+	// New absolute price.
+	@PositiveOrZero
+	@Digits(integer = 10, fraction = 2)
+	private BigDecimal price;
+
+	// Signed percentage, e.g. -15 for a 15% discount; results are rounded to the cent.
+	@DecimalMin("-100")
+	@Digits(integer = 6, fraction = 4)
+	private BigDecimal pricePercent;
+
+	// Signed quantity in each product's own unit, recorded as an ADJUSTMENT movement.
+	@Digits(integer = 15, fraction = 3)
+	private BigDecimal stockDelta;
+
+	@Size(max = 255)
+	private String stockChangeReason;
+}
@@ -0,0 +1,13 @@
+package marcostar.project.store_project.dtos.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ProductAdjustmentResponse {
+	private int updated;
+	private int movements;
+}
@@ -0,0 +1,164 @@
+package marcostar.project.store_project.dtos.product;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads {@link ProductImportRow}s from an RFC 4180 CSV body one record at a time. The header
+ * names the columns, in any order: {@code name}, {@code price} and {@code unit} are required,
+ * {@code description} and {@code stock} optional, others ignored.
+ * <p>
+ * A record with an unreadable number throws {@link IllegalArgumentException} from {@link #next()}
+ * once it has been consumed, so the caller can report it and carry on with the next record.
+ */
+public class ProductImportCsv implements Iterator<ProductImportRow>, Closeable {
+
+	private static final char BOM = '\uFEFF';
+
+	private final BufferedReader reader;
+	private final int name;
+	private final int description;
+	private final int price;
+	private final int stock;
+	private final int unit;
+	private List<String> pending;
+	private boolean eof;
+
+	public ProductImportCsv(InputStream body) {
+		this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		List<String> header = read();
+		if (header == null) {
+			throw new IllegalArgumentException("CSV header is required");
+		}
+		List<String> columns = new ArrayList<>(header.size());
+		for (String column : header) {
+			columns.add(column.strip().toLowerCase(Locale.ROOT));
+		}
+		if (!columns.isEmpty() && !columns.get(0).isEmpty() && columns.get(0).charAt(0) == BOM) {
+			columns.set(0, columns.get(0).substring(1));
+		}
+		this.name = required(columns, "name");
+		this.description = columns.indexOf("description");
+		this.price = required(columns, "price");
+		this.stock = columns.indexOf("stock");
+		this.unit = required(columns, "unit");
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (pending == null && !eof) {
+			pending = read();
+		}
+		return pending != null;
+	}
+
+	@Override
+	public ProductImportRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		List<String> record = pending;
+		pending = null;
+		ProductImportRow row = new ProductImportRow();
+		row.setName(field(record, name));
+		row.setDescription(field(record, description));
+		row.setPrice(number(record, price, "price"));
+		row.setStock(number(record, stock, "stock"));
+		row.setUnit(field(record, unit));
+		return row;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private static int required(List<String> columns, String column) {
+		int index = columns.indexOf(column);
+		if (index < 0) {
+			throw new IllegalArgumentException("Missing CSV column: " + column);
+		}
+		return index;
+	}
+
+	private static String field(List<String> record, int index) {
+		if (index < 0 || index >= record.size() || record.get(index).isEmpty()) {
+			return null;
+		}
+		return record.get(index);
+	}
+
+	private static BigDecimal number(List<String> record, int index, String column) {
+		String value = field(record, index);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return new BigDecimal(value.strip());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + column + ": " + value);
+		}
+	}
+
+	// Next non-blank record, or null at the end of the body. Quoted fields may hold commas,
+	// doubled quotes and line breaks.
+	private List<String> read() {
+		try {
+			while (true) {
+				int c = reader.read();
+				if (c < 0) {
+					eof = true;
+					return null;
+				}
+				if (c == '\n' || c == '\r') {
+					continue;
+				}
+				List<String> record = new ArrayList<>();
+				StringBuilder field = new StringBuilder();
+				boolean quoted = false;
+				while (true) {
+					if (quoted) {
+						if (c < 0) {
+							throw new IllegalArgumentException("Unterminated quoted field");
+						}
+						if (c == '"') {
+							reader.mark(1);
+							if (reader.read() == '"') {
+								field.append('"');
+							} else {
+								reader.reset();
+								quoted = false;
+							}
+						} else {
+							field.append((char) c);
+						}
+					} else if (c < 0 || c == '\n' || c == '\r') {
+						record.add(field.toString());
+						return record;
+					} else if (c == ',') {
+						record.add(field.toString());
+						field.setLength(0);
+					} else if (c == '"' && field.isEmpty()) {
+						quoted = true;
+					} else {
+						field.append((char) c);
+					}
+					c = reader.read();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package marcostar.project.store_project.dtos.product;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.exc.InvalidFormatException;
+
+/**
+ * Reads {@link ProductImportRow}s from an NDJSON body (or a JSON array) one object at a time.
+ * <p>
+ * An object that is well-formed JSON but does not bind, such as {@code "price":"abc"}, throws
+ * {@link IllegalArgumentException} from {@link #next()} and the reader moves on to the next
+ * object, like {@link ProductImportCsv}. Broken JSON still throws the parser's exception, since
+ * nothing after it can be read.
+ */
+public class ProductImportJson implements Iterator<ProductImportRow>, Closeable {
+
+	private final MappingIterator<ProductImportRow> rows;
+
+	public ProductImportJson(ObjectMapper objectMapper, InputStream body) {
+		this.rows = objectMapper.readerFor(ProductImportRow.class).readValues(body);
+	}
+
+	@Override
+	public boolean hasNext() {
+		return rows.hasNext();
+	}
+
+	@Override
+	public ProductImportRow next() {
+		try {
+			return rows.next();
+		} catch (DatabindException e) {
+			throw new IllegalArgumentException(message(e));
+		}
+	}
+
+	@Override
+	public void close() {
+		rows.close();
+	}
+
+	private static String message(DatabindException e) {
+		List<JacksonException.Reference> path = e.getPath();
+		String field = path.isEmpty() ? null : path.get(path.size() - 1).getPropertyName();
+		if (field == null) {
+			return "Invalid row";
+		}
+		if (e instanceof InvalidFormatException invalid && invalid.getValue() != null) {
+			return "Invalid " + field + ": " + invalid.getValue();
+		}
+		return "Invalid " + field;
+	}
+}
@@ -0,0 +1,33 @@
+package marcostar.project.store_project.dtos.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+// One line of the import response; index is the position of the row in the file, header excluded.
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportResult {
+	private int index;
+	private Status status;
+	private UUID id;
+	private String error;
+
+	public enum Status {
+		CREATED,
+		FAILED
+	}
+
+	public static ProductImportResult created(int index, UUID id) {
+		return new ProductImportResult(index, Status.CREATED, id, null);
+	}
+
+	public static ProductImportResult failed(int index, String error) {
+		return new ProductImportResult(index, Status.FAILED, null, error);
+	}
+}
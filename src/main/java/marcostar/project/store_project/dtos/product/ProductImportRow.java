@@ -0,0 +1,34 @@
+package marcostar.project.store_project.dtos.product;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import lombok.Data;
+
+// One product of a bulk import; the bounds mirror the products columns so a bad row is
+// rejected before it reaches a batch.
+@Data
+public class ProductImportRow {
+	@NotBlank
+	@Size(max = 255)
+	private String name;
+
+	@Size(max = 1000)
+	private String description;
+
+	@NotNull
+	@PositiveOrZero
+	@Digits(integer = 10, fraction = 2)
+	private BigDecimal price;
+
+	@PositiveOrZero
+	@Digits(integer = 15, fraction = 3)
+	private BigDecimal stock;
+
+	// Unit code, e.g. KILOGRAM; case does not matter.
+	@NotBlank
+	private String unit;
+}
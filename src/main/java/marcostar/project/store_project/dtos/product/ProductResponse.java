@@ -2,6 +2,9 @@ package marcostar.project.store_project.dtos.product;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +21,7 @@ public class ProductResponse {
 	private UUID unitId;
 	private String unitCode;
 	private String unitSymbol;
+	// Changes with the product and its unit; sent as the ETag header, not in the body.
+	@JsonIgnore
+	private String etag;
 }
\ No newline at end of file
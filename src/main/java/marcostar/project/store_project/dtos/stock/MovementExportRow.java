@@ -0,0 +1,20 @@
+package marcostar.project.store_project.dtos.stock;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import marcostar.project.store_project.entities.enums.MovementType;
+
+// One exported stock movement; cursor resumes the export right after this row.
+public record MovementExportRow(
+        UUID id,
+        Instant createdAt,
+        UUID productId,
+        String productName,
+        MovementType type,
+        BigDecimal quantity,
+        String unit,
+        String reason,
+        String cursor) {
+}
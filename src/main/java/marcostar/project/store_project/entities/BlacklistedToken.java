@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,15 +19,16 @@ import org.hibernate.annotations.CreationTimestamp;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = @Index(name = "idx_blacklisted_tokens_expires_at", columnList = "expires_at"))
 public class BlacklistedToken {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.UUID)
 	private UUID id;
 
-	@Column(nullable = false, unique = true, length = 1000)
-	private String token;
+	// Base64 SHA-256 of the JWT; the raw token is never stored.
+	@Column(name = "token_digest", nullable = false, unique = true, length = 44)
+	private String tokenDigest;
 
 	@Column(name = "expires_at")
 	private Instant expiresAt;
@@ -35,8 +37,8 @@ public class BlacklistedToken {
 	@Column(name = "created_at", updatable = false)
 	private Instant createdAt;
 
-	public BlacklistedToken(String token, Instant expiresAt) {
-		this.token = token;
+	public BlacklistedToken(String tokenDigest, Instant expiresAt) {
+		this.tokenDigest = tokenDigest;
 		this.expiresAt = expiresAt;
 	}
-}
\ No newline at end of file
+}
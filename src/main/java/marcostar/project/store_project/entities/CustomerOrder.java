@@ -9,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -37,7 +38,10 @@ import marcostar.project.store_project.entities.enums.OrderStatus;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+	@Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+	@Index(name = "idx_orders_user_created_at_id", columnList = "user_id, created_at, id")
+})
 public class CustomerOrder {
 
 	@Id
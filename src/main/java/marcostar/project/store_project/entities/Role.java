@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -19,6 +20,7 @@ import lombok.NoArgsConstructor;
 import java.util.Date;
 import java.util.Set;
 import java.util.UUID;
+import marcostar.project.store_project.config.security.PrincipalCacheInvalidator;
 import marcostar.project.store_project.entities.enums.TypeRole;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -26,6 +28,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 @Entity
+@EntityListeners(PrincipalCacheInvalidator.class)
 @Data
 @Table(name = "roles")
 @AllArgsConstructor
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -25,7 +26,9 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "stock_movements")
+@Table(name = "stock_movements", indexes = {
+    @Index(name = "idx_stock_movements_created_at_id", columnList = "created_at, id")
+})
 public class StockMovement {
 
     @Id
@@ -3,5 +3,6 @@ package marcostar.project.store_project.entities.enums;
 public enum MovementType {
     IN,
     OUT,
+    // Signed net change: positive puts stock back, negative takes it out.
     ADJUSTMENT
 }
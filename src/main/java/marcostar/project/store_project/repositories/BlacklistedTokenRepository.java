@@ -1,13 +1,30 @@
 package marcostar.project.store_project.repositories;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import marcostar.project.store_project.entities.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, UUID> {
-	Optional<BlacklistedToken> findByToken(String token);
-	boolean existsByToken(String token);
-}
\ No newline at end of file
+	// A token revoked twice, possibly on two nodes at once, keeps its first row.
+	@Modifying
+	@Transactional
+	@Query(value = "insert into blacklisted_tokens (id, token_digest, expires_at, created_at) "
+			+ "values (:id, :digest, :expiresAt, current_timestamp) on conflict (token_digest) do nothing",
+			nativeQuery = true)
+	int insertIfAbsent(@Param("id") UUID id, @Param("digest") String digest, @Param("expiresAt") Instant expiresAt);
+
+	@Query("select b from BlacklistedToken b where b.expiresAt is null or b.expiresAt > :now")
+	List<BlacklistedToken> findAllActive(@Param("now") Instant now);
+
+	@Modifying
+	@Query("delete from BlacklistedToken b where b.expiresAt <= :now")
+	int deleteExpired(@Param("now") Instant now);
+}
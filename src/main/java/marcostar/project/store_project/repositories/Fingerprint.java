@@ -0,0 +1,7 @@
+package marcostar.project.store_project.repositories;
+
+import java.util.Date;
+
+// Latest updated_at and row count of a set of rows; changes whenever a row is added, edited or removed.
+public record Fingerprint(Date lastUpdatedAt, long count) {
+}
@@ -1,10 +1,19 @@
 package marcostar.project.store_project.repositories;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import marcostar.project.store_project.entities.CustomerOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,4 +21,44 @@ public interface OrderRepository extends JpaRepository<CustomerOrder, UUID> {
 	Page<CustomerOrder> findByUserUsername(String username, Pageable pageable);
 	Page<CustomerOrder> findByUserId(UUID userId, Pageable pageable);
 	boolean existsByOrderNumber(String orderNumber);
-}
\ No newline at end of file
+
+	@Query(value = "select o.id from CustomerOrder o",
+			countQuery = "select count(o) from CustomerOrder o")
+	Page<UUID> findPageIds(Pageable pageable);
+
+	@Query(value = "select o.id from CustomerOrder o where o.user.id = :userId",
+			countQuery = "select count(o) from CustomerOrder o where o.user.id = :userId")
+	Page<UUID> findPageIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+	@Query("select o.id from CustomerOrder o order by o.createdAt desc, o.id desc")
+	Slice<UUID> findFirstSliceIds(Pageable pageable);
+
+	@Query("select o.id from CustomerOrder o where o.createdAt < :createdAt "
+			+ "or (o.createdAt = :createdAt and o.id < :id) order by o.createdAt desc, o.id desc")
+	Slice<UUID> findSliceIdsAfter(@Param("createdAt") Date createdAt, @Param("id") UUID id, Pageable pageable);
+
+	@Query("select o.id from CustomerOrder o where o.user.id = :userId order by o.createdAt desc, o.id desc")
+	Slice<UUID> findFirstSliceIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+	@Query("select o.id from CustomerOrder o where o.user.id = :userId and (o.createdAt < :createdAt "
+			+ "or (o.createdAt = :createdAt and o.id < :id)) order by o.createdAt desc, o.id desc")
+	Slice<UUID> findSliceIdsByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") Date createdAt,
+			@Param("id") UUID id, Pageable pageable);
+
+	@Query("select distinct o from CustomerOrder o left join fetch o.items i left join fetch i.product where o.id in :ids")
+	List<CustomerOrder> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+	@EntityGraph(attributePaths = {"items", "items.product"})
+	Optional<CustomerOrder> findWithItemsById(UUID id);
+
+	@Query("select new marcostar.project.store_project.repositories.Fingerprint(max(o.updatedAt), count(o)) "
+			+ "from CustomerOrder o where o.user.id = :userId")
+	Fingerprint fingerprintByUserId(@Param("userId") UUID userId);
+
+	// Order lines show the product name: renaming a product bumps the orders that contain it,
+	// so that their fingerprint changes.
+	@Modifying
+	@Query("update CustomerOrder o set o.updatedAt = :now "
+			+ "where exists (select 1 from OrderItem i where i.order = o and i.product.id = :productId)")
+	int touchByProductId(@Param("productId") UUID productId, @Param("now") Date now);
+}
@@ -1,10 +1,29 @@
 package marcostar.project.store_project.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import marcostar.project.store_project.entities.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID> {
-}
\ No newline at end of file
+	// Responses always include the unit; fetching it here avoids one query per distinct unit.
+	@Override
+	@EntityGraph(attributePaths = "unit")
+	Page<Product> findAll(Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = "unit")
+	Optional<Product> findById(UUID id);
+
+	@Query("select p from Product p join fetch p.unit where p.id in :ids")
+	List<Product> findAllWithUnitByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -1,15 +1,25 @@
 package marcostar.project.store_project.repositories;
 
-import java.util.List;
+import java.util.Date;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import marcostar.project.store_project.entities.StockMovement;
 
 @Repository
 public interface StockMovementRepository extends JpaRepository<StockMovement, UUID> {
     Page<StockMovement> findByProductId(UUID productId, Pageable pageable);
+
+    @Query("select m from StockMovement m order by m.createdAt desc, m.id desc")
+    Slice<StockMovement> findFirstSlice(Pageable pageable);
+
+    @Query("select m from StockMovement m where m.createdAt < :createdAt "
+            + "or (m.createdAt = :createdAt and m.id < :id) order by m.createdAt desc, m.id desc")
+    Slice<StockMovement> findSliceAfter(@Param("createdAt") Date createdAt, @Param("id") UUID id, Pageable pageable);
 }
@@ -7,6 +7,7 @@ import marcostar.project.store_project.entities.Unit;
 import marcostar.project.store_project.entities.enums.UnitCategory;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,4 +16,7 @@ public interface UnitRepository extends JpaRepository<Unit, UUID> {
     boolean existsByCode(String code);
     List<Unit> findByCategory(UnitCategory category);
     Optional<Unit> findByCategoryAndIsBaseUnit(UnitCategory category, Boolean isBaseUnit);
+
+    @Query("select new marcostar.project.store_project.repositories.Fingerprint(max(u.updatedAt), count(u)) from Unit u")
+    Fingerprint fingerprint();
 }
@@ -0,0 +1,5 @@
+package marcostar.project.store_project.services;
+
+public interface OrderNumberGenerator {
+    String next();
+}
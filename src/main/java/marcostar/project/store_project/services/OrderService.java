@@ -1,18 +1,28 @@
 package marcostar.project.store_project.services;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import marcostar.project.store_project.dtos.order.BulkOrderResult;
 import marcostar.project.store_project.dtos.order.OrderRequest;
 import marcostar.project.store_project.dtos.order.OrderResponse;
 import marcostar.project.store_project.dtos.order.OrderStatusRequest;
 import marcostar.project.store_project.dtos.order.OrderUpdateRequest;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
 
 public interface OrderService {
 	OrderResponse createOrder(OrderRequest request);
+	void createOrders(Iterator<OrderRequest> requests, Consumer<List<BulkOrderResult>> onCommit);
 	Page<OrderResponse> getOrdersForUser(UUID userId, Pageable pageable);
 	Page<OrderResponse> getAllOrders(Pageable pageable);
 	Page<OrderResponse> getMyOrders(Pageable pageable);
+	String getMyOrdersETag();
+	KeysetSlice<OrderResponse> scrollOrdersForUser(UUID userId, String after, int limit);
+	KeysetSlice<OrderResponse> scrollAllOrders(String after, int limit);
+	KeysetSlice<OrderResponse> scrollMyOrders(String after, int limit);
 	OrderResponse getOrderById(UUID id);
 	OrderResponse updateOrder(UUID id, OrderUpdateRequest request);
 	OrderResponse updateOrderStatus(UUID id, OrderStatusRequest request);
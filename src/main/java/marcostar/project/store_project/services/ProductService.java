@@ -2,14 +2,24 @@ package marcostar.project.store_project.services;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentRequest;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentResponse;
+import marcostar.project.store_project.dtos.product.ProductImportResult;
+import marcostar.project.store_project.dtos.product.ProductImportRow;
 import marcostar.project.store_project.dtos.product.ProductRequest;
 import marcostar.project.store_project.dtos.product.ProductResponse;
 
 public interface ProductService {
 	Page<ProductResponse> getAll(Pageable pageable);
 	ProductResponse getById(UUID id);
+	Page<ProductResponse> search(String query, Pageable pageable);
 	ProductResponse create(ProductRequest request);
+	void importProducts(Iterator<ProductImportRow> rows, Consumer<List<ProductImportResult>> onCommit);
 	ProductResponse update(UUID id, ProductRequest request);
+	ProductAdjustmentResponse adjust(ProductAdjustmentRequest request);
 	void delete(UUID id);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package marcostar.project.store_project.services;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public interface StockReservationService {
+    void reserve(Map<UUID, BigDecimal> quantities);
+    void release(Map<UUID, BigDecimal> quantities);
+    void rebalance(Map<UUID, BigDecimal> released, Map<UUID, BigDecimal> reserved);
+}
@@ -1,7 +1,14 @@
 package marcostar.project.store_project.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import marcostar.project.store_project.dtos.pagination.KeysetCursor;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
+import marcostar.project.store_project.dtos.stock.MovementExportFormat;
 import marcostar.project.store_project.entities.Product;
 import marcostar.project.store_project.entities.StockMovement;
 import marcostar.project.store_project.entities.Unit;
@@ -12,6 +19,10 @@ import org.springframework.data.domain.Pageable;
 
 public interface StockService {
     StockMovement recordMovement(Product product, BigDecimal quantity, MovementType type, Unit unit, String reason);
+    List<StockMovement> recordMovements(List<StockMovement> movements);
     Page<StockMovement> getMovementsForProduct(UUID productId, Pageable pageable);
     Page<StockMovement> getAllMovements(Pageable pageable);
+    KeysetSlice<StockMovement> scrollAllMovements(String after, int limit);
+    void exportMovements(Instant from, Instant to, UUID productId, KeysetCursor after,
+            MovementExportFormat format, OutputStream out) throws IOException;
 }
\ No newline at end of file
@@ -10,4 +10,5 @@ public interface UnitConversionService {
     BigDecimal convert(BigDecimal quantity, Unit fromUnit, Unit toUnit);
     Unit getBaseUnit(UnitCategory category);
     BigDecimal convert(BigDecimal quantity, UUID fromUnitId, UUID toUnitId);
+    void refresh();
 }
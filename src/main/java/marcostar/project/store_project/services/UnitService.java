@@ -12,6 +12,7 @@ import marcostar.project.store_project.entities.enums.UnitCategory;
 public interface UnitService {
     List<UnitResponse> getAllUnits();
     List<UnitResponse> getUnitsByCategory(UnitCategory category);
+    String getUnitsETag();
     UnitResponse getUnitById(UUID id);
     UnitResponse createUnit(UnitRequest request);
     UnitResponse updateUnit(UUID id, UnitRequest request);
@@ -0,0 +1,55 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.sql.SQLException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns the exception that failed one item of a bulk request into the error reported for it.
+ * Messages the services raise themselves (insufficient stock, unknown product...) are kept;
+ * database and unexpected errors are logged here and reported with a fixed text, so SQL and
+ * constraint names never reach the client.
+ */
+@Slf4j
+final class BulkFailures {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private BulkFailures() {
+    }
+
+    static String messageOf(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+        if (e instanceof ObjectOptimisticLockingFailureException) {
+            return "Concurrent update, please retry";
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            String sqlState = sqlState(e);
+            log.warn("Bulk item rejected by the database (SQL state {})", sqlState, e);
+            if (UNIQUE_VIOLATION.equals(sqlState)) {
+                return "Duplicate value";
+            }
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+                return "Referenced record not found";
+            }
+            return "Invalid data";
+        }
+        log.error("Bulk item failed", e);
+        return "Internal error";
+    }
+
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return sql.getSQLState();
+            }
+        }
+        return null;
+    }
+}
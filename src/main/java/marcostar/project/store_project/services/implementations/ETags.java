@@ -0,0 +1,43 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.StringJoiner;
+
+import marcostar.project.store_project.repositories.Fingerprint;
+
+/**
+ * Builds strong entity tags from the timestamps and counts a response depends on. Timestamps
+ * keep the precision the database returned, so two writes within one millisecond still differ.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Fingerprint fingerprint) {
+        return of(fingerprint.lastUpdatedAt(), fingerprint.count());
+    }
+
+    static String of(Object... parts) {
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            etag.add(encode(part));
+        }
+        return etag.toString();
+    }
+
+    private static String encode(Object part) {
+        if (part == null) {
+            return "0";
+        }
+        if (part instanceof Date date) {
+            Instant instant = date.toInstant();
+            return Long.toString(instant.getEpochSecond(), 36) + "." + Integer.toString(instant.getNano(), 36);
+        }
+        if (part instanceof Long number) {
+            return Long.toString(number, 36);
+        }
+        return part.toString();
+    }
+}
@@ -0,0 +1,380 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions, ranked with BM25.
+ * <p>
+ * Each query term matches the indexed terms equal to it, starting with it, or within one or two
+ * edits of it (typos, swapped letters included); prefix and fuzzy matches score lower than exact ones. A name occurrence
+ * counts {@link #NAME_WEIGHT} times a description one. Reads share a lock, writes take it alone.
+ */
+final class InvertedIndex {
+
+    static final int NAME_WEIGHT = 2;
+    static final int MAX_QUERY_TERMS = 10;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final float ONE_EDIT_BOOST = 0.4f;
+    private static final float TWO_EDITS_BOOST = 0.2f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_ONE_EDIT_LENGTH = 4;
+    private static final int MIN_TWO_EDITS_LENGTH = 8;
+    // Expansions kept per query term, most frequent first.
+    private static final int MAX_EXPANSIONS = 50;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private UUID[] ids = new UUID[1024];
+    private Postings[][] docTerms = new Postings[1024][];
+    private int[] lengths = new int[1024];
+    private int slotCount;
+    private long totalLength;
+
+    record Hits(List<UUID> ids, long total) {
+    }
+
+    private static final class Postings {
+        private final String term;
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // Order does not matter to scoring, so the last entry fills the gap.
+        private void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    freqs[i] = freqs[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Expansion(Postings postings, float boost) {
+    }
+
+    /**
+     * Adds the product, or replaces what was indexed for it.
+     */
+    void put(UUID id, String name, String description) {
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String token : tokenize(name)) {
+            freqs.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            freqs.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer existing = slots.get(id);
+            int slot = existing != null ? existing : allocate(id);
+            if (existing != null) {
+                unlink(slot);
+            }
+            Postings[] postings = new Postings[freqs.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+                Postings termPostings = terms.computeIfAbsent(entry.getKey(), Postings::new);
+                termPostings.add(slot, entry.getValue());
+                postings[i++] = termPostings;
+                length += entry.getValue();
+            }
+            docTerms[slot] = postings;
+            lengths[slot] = length;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            unlink(slot);
+            ids[slot] = null;
+            docTerms[slot] = null;
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            slots.clear();
+            freeSlots.clear();
+            Arrays.fill(ids, 0, slotCount, null);
+            Arrays.fill(docTerms, 0, slotCount, null);
+            slotCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks every product matching at least one query term and returns the ids of
+     * {@code limit} of them starting at {@code offset}, best first, with the number of matches.
+     */
+    Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new Hits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            int documents = slots.size();
+            if (documents == 0) {
+                return new Hits(List.of(), 0);
+            }
+            float averageLength = Math.max(1f, (float) totalLength / documents);
+            float[] scores = new float[slotCount];
+            int[] matched = new int[16];
+            int matchCount = 0;
+            for (String queryTerm : queryTerms) {
+                for (Expansion expansion : expand(queryTerm)) {
+                    Postings postings = expansion.postings();
+                    float idf = (float) Math.log(1 + (documents - postings.size + 0.5) / (postings.size + 0.5));
+                    float weight = idf * expansion.boost();
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        int freq = postings.freqs[i];
+                        float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                        if (scores[doc] == 0) {
+                            if (matchCount == matched.length) {
+                                matched = Arrays.copyOf(matched, matchCount * 2);
+                            }
+                            matched[matchCount++] = doc;
+                        }
+                        scores[doc] += weight * freq * (K1 + 1) / (freq + norm);
+                    }
+                }
+            }
+            return new Hits(top(scores, matched, matchCount, offset, limit), matchCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private List<UUID> top(float[] scores, int[] matched, int matchCount, int offset, int limit) {
+        int wanted = (int) Math.min((long) offset + limit, matchCount);
+        if (offset >= wanted) {
+            return List.of();
+        }
+        // Min-heap of the best `wanted` documents; ties go to the smaller slot for a stable order.
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted + 1, (a, b) -> {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Integer.compare(b, a);
+        });
+        for (int i = 0; i < matchCount; i++) {
+            best.add(matched[i]);
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+        UUID[] ranked = new UUID[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = ids[best.poll()];
+        }
+        return List.of(ranked).subList(offset, ranked.length);
+    }
+
+    private List<Expansion> expand(String queryTerm) {
+        List<Expansion> expansions = new ArrayList<>();
+        Postings exact = terms.get(queryTerm);
+        if (exact != null && exact.size > 0) {
+            expansions.add(new Expansion(exact, 1f));
+        }
+        Set<String> seen = new HashSet<>();
+        seen.add(queryTerm);
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            PriorityQueue<Postings> prefixed = mostFrequent();
+            for (Postings postings : terms.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+                offer(prefixed, postings);
+            }
+            for (Postings postings : prefixed) {
+                seen.add(postings.term);
+                expansions.add(new Expansion(postings, PREFIX_BOOST));
+            }
+        }
+        int maxEdits = queryTerm.length() >= MIN_TWO_EDITS_LENGTH ? 2
+                : queryTerm.length() >= MIN_ONE_EDIT_LENGTH ? 1 : 0;
+        if (maxEdits > 0) {
+            // Typos rarely hit the first letter, which keeps the scan to one slice of the dictionary.
+            String first = queryTerm.substring(0, 1);
+            PriorityQueue<Postings> oneEdit = mostFrequent();
+            PriorityQueue<Postings> twoEdits = mostFrequent();
+            for (Postings postings : terms.subMap(first, true, first + Character.MAX_VALUE, false).values()) {
+                if (seen.contains(postings.term) || Math.abs(postings.term.length() - queryTerm.length()) > maxEdits) {
+                    continue;
+                }
+                int distance = distance(queryTerm, postings.term, maxEdits);
+                if (distance == 1) {
+                    offer(oneEdit, postings);
+                } else if (distance <= maxEdits) {
+                    offer(twoEdits, postings);
+                }
+            }
+            oneEdit.forEach(postings -> expansions.add(new Expansion(postings, ONE_EDIT_BOOST)));
+            twoEdits.forEach(postings -> expansions.add(new Expansion(postings, TWO_EDITS_BOOST)));
+        }
+        return expansions;
+    }
+
+    private static PriorityQueue<Postings> mostFrequent() {
+        return new PriorityQueue<>(MAX_EXPANSIONS + 1, (a, b) -> Integer.compare(a.size, b.size));
+    }
+
+    private static void offer(PriorityQueue<Postings> queue, Postings postings) {
+        if (postings.size == 0) {
+            return;
+        }
+        queue.add(postings);
+        if (queue.size() > MAX_EXPANSIONS) {
+            queue.poll();
+        }
+    }
+
+    // Edit distance counting a swap of two adjacent letters as one edit, or maxEdits + 1 as soon
+    // as it is known to exceed maxEdits.
+    static int distance(String a, String b, int maxEdits) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    private int allocate(UUID id) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                docTerms = Arrays.copyOf(docTerms, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            slot = slotCount++;
+        }
+        ids[slot] = id;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private void unlink(int slot) {
+        for (Postings postings : docTerms[slot]) {
+            postings.remove(slot);
+            if (postings.size == 0) {
+                terms.remove(postings.term);
+            }
+        }
+        totalLength -= lengths[slot];
+        lengths[slot] = 0;
+    }
+}
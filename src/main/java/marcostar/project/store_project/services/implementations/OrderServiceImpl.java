@@ -2,33 +2,57 @@ package marcostar.project.store_project.services.implementations;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.Set;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.config.metrics.PhaseTimer;
 import marcostar.project.store_project.config.security.LoggerUser;
+import marcostar.project.store_project.dtos.order.BulkOrderResult;
 import marcostar.project.store_project.dtos.order.OrderItemRequest;
 import marcostar.project.store_project.dtos.order.OrderItemResponse;
 import marcostar.project.store_project.dtos.order.OrderRequest;
 import marcostar.project.store_project.dtos.order.OrderResponse;
 import marcostar.project.store_project.dtos.order.OrderStatusRequest;
 import marcostar.project.store_project.dtos.order.OrderUpdateRequest;
+import marcostar.project.store_project.dtos.pagination.KeysetCursor;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
 import marcostar.project.store_project.entities.CustomerOrder;
 import marcostar.project.store_project.entities.OrderItem;
 import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.StockMovement;
 import marcostar.project.store_project.entities.User;
 import marcostar.project.store_project.entities.enums.MovementType;
 import marcostar.project.store_project.entities.enums.OrderStatus;
 import marcostar.project.store_project.repositories.OrderRepository;
 import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.services.OrderNumberGenerator;
 import marcostar.project.store_project.services.OrderService;
+import marcostar.project.store_project.services.StockReservationService;
 import marcostar.project.store_project.services.StockService;
 import marcostar.project.store_project.services.UnitConversionService;
 
@@ -36,39 +60,196 @@ import marcostar.project.store_project.services.UnitConversionService;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService{
 	private static final String ORDER_NOT_FOUND = "Order not found";
+	private static final int MAX_SCROLL_LIMIT = 100;
+	private static final String ORDER_METRIC = "store.order";
     private final OrderRepository orderRepository;
 	private final ProductRepository productRepository;
 	private final StockService stockService;
+	private final StockReservationService stockReservationService;
     private final LoggerUser loggerUser;
 	private final UnitConversionService unitConversionService;
+	private final OrderNumberGenerator orderNumberGenerator;
+	private final MeterRegistry meterRegistry;
+	private final TransactionTemplate transactionTemplate;
+	private final EntityManager entityManager;
+	private final Validator validator;
+
+	@Value("${store.order-bulk.batch-size:100}")
+	private int bulkBatchSize;
 
     @Override
 	@Transactional
 	public OrderResponse createOrder(OrderRequest request) {
-        
+		PhaseTimer timer = PhaseTimer.start(meterRegistry, ORDER_METRIC, "create");
 		User user = loggerUser.getCurrentUser();
 
+		Map<UUID, Product> products = loadProducts(request.getItems());
+		timer.mark("load_products");
+		Map<UUID, BigDecimal> requested = new LinkedHashMap<>();
+		CustomerOrder order = buildOrder(user, request, products, requested);
+		timer.mark("resolve_quantities");
+
+		stockReservationService.reserve(requested);
+		timer.mark("reserve_stock");
+
+		CustomerOrder savedOrder = orderRepository.save(order);
+		timer.mark("persist");
+
+		if (!requested.isEmpty()) {
+			List<StockMovement> movements = new ArrayList<>(savedOrder.getItems().size());
+			addOutMovements(savedOrder, movements);
+			stockService.recordMovements(movements);
+		}
+		timer.mark("record_movements");
+
+		return mapResponse(savedOrder, timer);
+	}
+
+	// Orders are committed in transactions of store.order-bulk.batch-size, each loading its
+	// products once and reserving stock in one batch. A failing transaction is replayed one order
+	// at a time so a single bad order only rejects itself.
+	@Override
+	public void createOrders(Iterator<OrderRequest> requests, Consumer<List<BulkOrderResult>> onCommit) {
+		User user = loggerUser.getCurrentUser();
+		int batchSize = Math.max(1, bulkBatchSize);
+		List<PendingOrder> batch = new ArrayList<>(batchSize);
+		List<BulkOrderResult> rejected = new ArrayList<>();
+		int index = 0;
+		while (true) {
+			OrderRequest request;
+			try {
+				if (!requests.hasNext()) {
+					break;
+				}
+				request = requests.next();
+			} catch (RuntimeException e) {
+				// The body cannot be read past this point.
+				rejected.add(BulkOrderResult.failed(index, "Malformed order: " + e.getMessage()));
+				break;
+			}
+			String violations = validate(request);
+			if (violations != null) {
+				rejected.add(BulkOrderResult.failed(index, violations));
+			} else {
+				batch.add(new PendingOrder(index, request));
+			}
+			index++;
+			if (batch.size() == batchSize) {
+				onCommit.accept(merge(rejected, createBatch(user, batch)));
+				batch.clear();
+				rejected.clear();
+			}
+		}
+		if (!batch.isEmpty() || !rejected.isEmpty()) {
+			onCommit.accept(merge(rejected, createBatch(user, batch)));
+		}
+	}
+
+	private record PendingOrder(int index, OrderRequest request) {
+	}
+
+	private List<BulkOrderResult> createBatch(User user, List<PendingOrder> batch) {
+		if (batch.isEmpty()) {
+			return List.of();
+		}
+		try {
+			return transactionTemplate.execute(status -> {
+				PhaseTimer timer = PhaseTimer.start(meterRegistry, ORDER_METRIC, "bulk");
+				List<OrderItemRequest> items = new ArrayList<>();
+				for (PendingOrder pending : batch) {
+					items.addAll(pending.request().getItems());
+				}
+				Map<UUID, Product> products = loadProducts(items);
+				timer.mark("load_products");
+
+				Map<UUID, BigDecimal> requested = new LinkedHashMap<>();
+				List<CustomerOrder> orders = new ArrayList<>(batch.size());
+				for (PendingOrder pending : batch) {
+					orders.add(buildOrder(user, pending.request(), products, requested));
+				}
+				timer.mark("resolve_quantities");
+
+				stockReservationService.reserve(requested);
+				timer.mark("reserve_stock");
+
+				List<CustomerOrder> savedOrders = orderRepository.saveAll(orders);
+				timer.mark("persist");
+
+				List<StockMovement> movements = new ArrayList<>(items.size());
+				for (CustomerOrder savedOrder : savedOrders) {
+					addOutMovements(savedOrder, movements);
+				}
+				if (!movements.isEmpty()) {
+					stockService.recordMovements(movements);
+				}
+				timer.mark("record_movements");
+
+				// Flushed first so the responses carry the creation timestamps. An open-in-view
+				// EntityManager outlives the transaction; clearing it keeps a long stream from
+				// holding every order it created in memory.
+				entityManager.flush();
+				List<BulkOrderResult> results = new ArrayList<>(batch.size());
+				for (int i = 0; i < batch.size(); i++) {
+					results.add(BulkOrderResult.created(batch.get(i).index(), toResponse(savedOrders.get(i))));
+				}
+				entityManager.clear();
+				timer.mark("map_response");
+				timer.stop();
+				return results;
+			});
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				return List.of(BulkOrderResult.failed(batch.get(0).index(), BulkFailures.messageOf(e)));
+			}
+			List<BulkOrderResult> results = new ArrayList<>(batch.size());
+			for (PendingOrder pending : batch) {
+				results.addAll(createBatch(user, List.of(pending)));
+			}
+			return results;
+		}
+	}
+
+	private String validate(OrderRequest request) {
+		if (request == null) {
+			return "Order must not be null";
+		}
+		Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+				.sorted()
+				.reduce((a, b) -> a + ", " + b)
+				.orElseThrow();
+	}
+
+	private static List<BulkOrderResult> merge(List<BulkOrderResult> rejected, List<BulkOrderResult> created) {
+		List<BulkOrderResult> results = new ArrayList<>(rejected.size() + created.size());
+		results.addAll(rejected);
+		results.addAll(created);
+		results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+		return results;
+	}
+
+	private CustomerOrder buildOrder(User user, OrderRequest request, Map<UUID, Product> products,
+			Map<UUID, BigDecimal> requested) {
 		CustomerOrder order = CustomerOrder.builder()
 				.user(user)
 				.status(OrderStatus.PENDING)
-				.orderNumber(generateOrderNumber())
+				.orderNumber(orderNumberGenerator.next())
 				.build();
 
 		for (OrderItemRequest itemRequest : request.getItems()) {
-			Product product = productRepository.findById(itemRequest.getProductId())
-					.orElseThrow(() -> new IllegalArgumentException("Product not found"));
+			Product product = products.get(itemRequest.getProductId());
 			BigDecimal quantityInProductUnit = resolveQuantityInProductUnit(itemRequest, product);
-			if (product.getStock().compareTo(quantityInProductUnit) < 0) {
-				throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
-			}
 
 			if (quantityInProductUnit.compareTo(BigDecimal.ZERO) <= 0) {
 				// throw new IllegalArgumentException("Quantity must be greater than zero for product: " + product.getName());
 				continue;
 			}
 
-			product.setStock(product.getStock().subtract(quantityInProductUnit));
-			productRepository.save(product);
+			requested.merge(product.getId(), quantityInProductUnit, BigDecimal::add);
 			OrderItem orderItem = OrderItem.builder()
 					.order(order)
 					.product(product)
@@ -77,38 +258,102 @@ public class OrderServiceImpl implements OrderService{
 					.build();
 			order.getItems().add(orderItem);
 		}
+		return order;
+	}
 
-		CustomerOrder savedOrder = orderRepository.save(order);
-
-		for (OrderItem oi : savedOrder.getItems()) {
+	private static void addOutMovements(CustomerOrder order, List<StockMovement> movements) {
+		for (OrderItem oi : order.getItems()) {
 			Product p = oi.getProduct();
-			stockService.recordMovement(p, oi.getQuantity(), MovementType.OUT, p.getUnit(), "Creating new order Order " + savedOrder.getId());
-			productRepository.save(p);
+			movements.add(new StockMovement(p, oi.getQuantity(), MovementType.OUT, p.getUnit(),
+					"Creating new order Order " + order.getId()));
 		}
-
-		return toResponse(savedOrder);
 	}
 
     @Override
 	public Page<OrderResponse> getOrdersForUser(UUID userId, Pageable pageable) {
-		return orderRepository.findByUserId(userId, pageable)
-				.map(this::toResponse);
+		return toResponsePage(orderRepository.findPageIdsByUserId(userId, pageable));
 	}
 
     @Override
     public Page<OrderResponse> getAllOrders(Pageable pageable){
-        return orderRepository.findAll(pageable).map(this::toResponse);
+        return toResponsePage(orderRepository.findPageIds(pageable));
     }
 
     @Override
     public Page<OrderResponse> getMyOrders(Pageable pageable){
         User user = loggerUser.getCurrentUser();
-        return orderRepository.findByUserId(user.getId(), pageable).map(this::toResponse);
+        return toResponsePage(orderRepository.findPageIdsByUserId(user.getId(), pageable));
+    }
+
+    @Override
+    public String getMyOrdersETag() {
+        User user = loggerUser.getCurrentUser();
+        return ETags.of(orderRepository.fingerprintByUserId(user.getId()));
     }
 
+    @Override
+	public KeysetSlice<OrderResponse> scrollOrdersForUser(UUID userId, String after, int limit) {
+		Pageable pageable = scrollPageable(limit);
+		if (after == null || after.isBlank()) {
+			return toKeysetSlice(orderRepository.findFirstSliceIdsByUserId(userId, pageable));
+		}
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		return toKeysetSlice(orderRepository.findSliceIdsByUserIdAfter(userId, cursor.createdAt(), cursor.id(), pageable));
+	}
+
+    @Override
+	public KeysetSlice<OrderResponse> scrollAllOrders(String after, int limit) {
+		Pageable pageable = scrollPageable(limit);
+		if (after == null || after.isBlank()) {
+			return toKeysetSlice(orderRepository.findFirstSliceIds(pageable));
+		}
+		KeysetCursor cursor = KeysetCursor.decode(after);
+		return toKeysetSlice(orderRepository.findSliceIdsAfter(cursor.createdAt(), cursor.id(), pageable));
+	}
+
+    @Override
+	public KeysetSlice<OrderResponse> scrollMyOrders(String after, int limit) {
+		User user = loggerUser.getCurrentUser();
+		return scrollOrdersForUser(user.getId(), after, limit);
+	}
+
+	private Pageable scrollPageable(int limit) {
+		return PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_SCROLL_LIMIT)));
+	}
+
+	private Page<OrderResponse> toResponsePage(Page<UUID> ids) {
+		if (ids.isEmpty()) {
+			return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+		}
+		List<OrderResponse> content = loadResponses(ids.getContent());
+		return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+	}
+
+	private KeysetSlice<OrderResponse> toKeysetSlice(Slice<UUID> ids) {
+		List<OrderResponse> content = ids.isEmpty() ? List.of() : loadResponses(ids.getContent());
+		String nextCursor = null;
+		if (ids.hasNext()) {
+			OrderResponse last = content.get(content.size() - 1);
+			nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new KeysetSlice<>(content, content.size(), ids.hasNext(), nextCursor);
+	}
+
+	private List<OrderResponse> loadResponses(List<UUID> ids) {
+		Map<UUID, CustomerOrder> orders = new HashMap<>();
+		for (CustomerOrder order : orderRepository.findAllWithItemsByIdIn(ids)) {
+			orders.put(order.getId(), order);
+		}
+		List<OrderResponse> responses = new ArrayList<>(ids.size());
+		for (UUID id : ids) {
+			responses.add(toResponse(orders.get(id)));
+		}
+		return responses;
+	}
+
     @Override
 	public OrderResponse getOrderById(UUID id) {
-		CustomerOrder order = orderRepository.findById(id)
+		CustomerOrder order = orderRepository.findWithItemsById(id)
 				.orElseThrow(() -> new IllegalArgumentException(ORDER_NOT_FOUND));
 		
 		return toResponse(order);
@@ -117,56 +362,127 @@ public class OrderServiceImpl implements OrderService{
 	@Override
 	@Transactional
 	public OrderResponse updateOrder(UUID id, OrderUpdateRequest request) {
-		CustomerOrder order = orderRepository.findById(id)
+		PhaseTimer timer = PhaseTimer.start(meterRegistry, ORDER_METRIC, "update");
+		CustomerOrder order = orderRepository.findWithItemsById(id)
 				.orElseThrow(() -> new IllegalArgumentException(ORDER_NOT_FOUND));
         User user = loggerUser.getCurrentUser();
 		if (!order.getUser().getId().equals(user.getId())) {
 			throw new IllegalArgumentException("Access denied: Only the author can update this order");
 		}
+		timer.mark("load_order");
 
 		if (request.getItems() != null) {
-			for (OrderItem existing : order.getItems()) {
-				Product p = existing.getProduct();
-				p.setStock(p.getStock().add(existing.getQuantity()));
-				stockService.recordMovement(p, existing.getQuantity(), MovementType.IN, p.getUnit(),
-						"Order update " + order.getId() + " (revert)");
-				productRepository.save(p);
+			Map<UUID, Product> products = loadProducts(request.getItems());
+			Map<UUID, BigDecimal> requested = new LinkedHashMap<>();
+			for (OrderItemRequest itemRequest : request.getItems()) {
+				Product product = products.get(itemRequest.getProductId());
+				requested.merge(product.getId(), resolveQuantityInProductUnit(itemRequest, product), BigDecimal::add);
 			}
+			timer.mark("resolve_quantities");
 
-			order.getItems().clear();
-
-			for (OrderItemRequest itemRequest : request.getItems()) {
-				Product product = productRepository.findById(itemRequest.getProductId())
-						.orElseThrow(() -> new IllegalArgumentException("Product not found"));
-				BigDecimal quantityInProductUnit = resolveQuantityInProductUnit(itemRequest, product);
+			Map<UUID, List<OrderItem>> existing = new LinkedHashMap<>();
+			for (OrderItem item : order.getItems()) {
+				existing.computeIfAbsent(item.getProduct().getId(), k -> new ArrayList<>()).add(item);
+			}
 
-				if (product.getStock().compareTo(quantityInProductUnit) < 0) {
-					throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+			// Only products whose line or quantity changes are touched: their old and new totals
+			// feed the stock rebalance and a single net ADJUSTMENT movement each.
+			Map<UUID, BigDecimal> released = new HashMap<>();
+			Map<UUID, BigDecimal> reserved = new HashMap<>();
+			List<StockMovement> movements = new ArrayList<>();
+			Set<UUID> productIds = new LinkedHashSet<>(existing.keySet());
+			productIds.addAll(requested.keySet());
+			boolean linesChanged = false;
+			for (UUID productId : productIds) {
+				List<OrderItem> lines = existing.getOrDefault(productId, List.of());
+				BigDecimal oldQuantity = lines.stream().map(OrderItem::getQuantity).reduce(BigDecimal.ZERO, BigDecimal::add);
+				BigDecimal newQuantity = requested.getOrDefault(productId, BigDecimal.ZERO);
+				boolean quantityChanged = oldQuantity.compareTo(newQuantity) != 0;
+				// Unchanged single lines are left as they are, as are products requested at zero
+				// that the order does not contain.
+				if (!quantityChanged && lines.size() <= 1) {
+					continue;
 				}
+				Product product = lines.isEmpty() ? products.get(productId) : lines.get(0).getProduct();
+				applyLineChange(order, product, lines, newQuantity);
+				linesChanged = true;
+				if (quantityChanged) {
+					released.put(productId, oldQuantity);
+					reserved.put(productId, newQuantity);
+					movements.add(new StockMovement(product, oldQuantity.subtract(newQuantity), MovementType.ADJUSTMENT,
+							product.getUnit(), "Order update " + order.getId()));
+				}
+			}
 
-				product.setStock(product.getStock().subtract(quantityInProductUnit));
-				productRepository.save(product);
-				OrderItem orderItem = OrderItem.builder()
-						.order(order)
-						.product(product)
-						.quantity(quantityInProductUnit)
-						.unitPrice(product.getPrice())
-						.build();
-				order.getItems().add(orderItem);
+			if (!movements.isEmpty()) {
+				stockReservationService.rebalance(released, reserved);
+			}
+			timer.mark("reserve_stock");
+			// Line edits leave the order row clean; its updated_at feeds the my-orders ETag.
+			if (linesChanged) {
+				order.setUpdatedAt(new Date());
 			}
 
 			CustomerOrder savedOrder = orderRepository.save(order);
-			for (OrderItem oi : savedOrder.getItems()) {
-				Product p = oi.getProduct();
-				stockService.recordMovement(p, oi.getQuantity(), MovementType.OUT, p.getUnit(),
-						"Order update " + savedOrder.getId());
-				productRepository.save(p);
+			timer.mark("persist");
+			if (!movements.isEmpty()) {
+				stockService.recordMovements(movements);
 			}
-			return toResponse(savedOrder);
+			timer.mark("record_movements");
+			return mapResponse(savedOrder, timer);
 		}
 
 		CustomerOrder savedOrder = orderRepository.save(order);
-		return toResponse(savedOrder);
+		timer.mark("persist");
+		return mapResponse(savedOrder, timer);
+	}
+
+	// Keeps at most one line per product: the first existing line is updated in place and
+	// re-priced at the current product price, like a new line, extra lines are orphan-removed,
+	// and a product that is new to the order gets a fresh line.
+	private void applyLineChange(CustomerOrder order, Product product, List<OrderItem> lines, BigDecimal quantity) {
+		if (quantity.signum() == 0) {
+			order.getItems().removeAll(lines);
+			return;
+		}
+		if (lines.isEmpty()) {
+			order.getItems().add(OrderItem.builder()
+					.order(order)
+					.product(product)
+					.quantity(quantity)
+					.unitPrice(product.getPrice())
+					.build());
+			return;
+		}
+		OrderItem kept = lines.get(0);
+		kept.setQuantity(quantity);
+		kept.setUnitPrice(product.getPrice());
+		order.getItems().removeAll(lines.subList(1, lines.size()));
+	}
+
+	private OrderResponse mapResponse(CustomerOrder order, PhaseTimer timer) {
+		OrderResponse response = toResponse(order);
+		timer.mark("map_response");
+		timer.stop();
+		return response;
+	}
+
+	private Map<UUID, Product> loadProducts(List<OrderItemRequest> items) {
+		Set<UUID> ids = new HashSet<>();
+		for (OrderItemRequest item : items) {
+			ids.add(item.getProductId());
+		}
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<UUID, Product> products = new HashMap<>();
+		for (Product product : productRepository.findAllWithUnitByIdIn(ids)) {
+			products.put(product.getId(), product);
+		}
+		if (products.size() != ids.size()) {
+			throw new IllegalArgumentException("Product not found");
+		}
+		return products;
 	}
 
 	private BigDecimal resolveQuantityInProductUnit(OrderItemRequest itemRequest, Product product) {
@@ -193,17 +509,22 @@ public class OrderServiceImpl implements OrderService{
 		CustomerOrder order = orderRepository.findById(id)
 				.orElseThrow(() -> new IllegalArgumentException(ORDER_NOT_FOUND));
 		
+		Map<UUID, BigDecimal> released = new HashMap<>();
+		List<StockMovement> movements = new ArrayList<>(order.getItems().size());
 		for (OrderItem existing : order.getItems()) {
 			Product p = existing.getProduct();
-			p.setStock(p.getStock().add(existing.getQuantity()));
-			stockService.recordMovement(p, existing.getQuantity(), MovementType.IN, p.getUnit(),
-					"Order deletion " + order.getId());
-			productRepository.save(p);
+			released.merge(p.getId(), existing.getQuantity(), BigDecimal::add);
+			movements.add(new StockMovement(p, existing.getQuantity(), MovementType.IN, p.getUnit(),
+					"Order deletion " + order.getId()));
+		}
+		stockReservationService.release(released);
+		if (!movements.isEmpty()) {
+			stockService.recordMovements(movements);
 		}
 		orderRepository.delete(order);
 	}
 
-	private OrderResponse toResponse(CustomerOrder order) {
+	OrderResponse toResponse(CustomerOrder order) {
 		List<OrderItemResponse> items = order.getItems().stream()
 				.map(item -> OrderItemResponse.builder()
 						.productId(item.getProduct().getId())
@@ -228,14 +549,4 @@ public class OrderServiceImpl implements OrderService{
 				.total(total)
 				.build();
 	}
-
-	private String generateOrderNumber() {
-		String orderNumber;
-		do {
-			long timestamp = Instant.now().toEpochMilli();
-			int random = ThreadLocalRandom.current().nextInt(100000, 999999);
-			orderNumber = "ORD-" + timestamp + "-" + random;
-		} while (orderRepository.existsByOrderNumber(orderNumber));
-		return orderNumber;
-	}
 }
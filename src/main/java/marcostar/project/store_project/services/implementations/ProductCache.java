@@ -0,0 +1,226 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.dtos.product.ProductResponse;
+
+/**
+ * Bounded caches of {@link ProductResponse} by id and of the product ids on the first catalog
+ * pages. Pages only hold ids, so a stock change drops the products it touched and leaves the
+ * pages alone; product writes drop every page. Evictions apply on this node at once and again
+ * after commit, and reach the other nodes through the {@link InvalidationBus}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCache {
+
+    static final String CACHE_NAME = "products";
+    static final String PAGES_CACHE_NAME = "product_pages";
+    private static final long MAX_PAGES = 1000;
+    // Keeps each pg_notify payload well under its 8000-byte limit.
+    private static final int IDS_PER_MESSAGE = 100;
+    private static final int MAX_IDS_PUBLISHED = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final InvalidationBus invalidationBus;
+
+    @Value("${store.product-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${store.product-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${store.product-cache.first-pages:5}")
+    private int firstPages;
+
+    private Cache<UUID, ProductResponse> products;
+    private Cache<PageKey, CachedPage> pages;
+
+    record PageKey(int page, int size, String sort) {
+    }
+
+    public record CachedPage(List<UUID> ids, long total) {
+    }
+
+    @PostConstruct
+    void init() {
+        products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        pages = Caffeine.newBuilder()
+                .maximumSize(MAX_PAGES)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, PAGES_CACHE_NAME);
+        invalidationBus.subscribe(InvalidationTopic.PRODUCT, key -> {
+            if (key == null) {
+                invalidateAll();
+                return;
+            }
+            products.invalidateAll(ids(key));
+        });
+        invalidationBus.subscribe(InvalidationTopic.PRODUCT_CATALOG, key -> {
+            if (key != null) {
+                products.invalidateAll(ids(key));
+            }
+            pages.invalidateAll();
+        });
+        // Responses embed the unit code and symbol.
+        invalidationBus.subscribe(InvalidationTopic.UNITS, key -> invalidateAll());
+    }
+
+    public ProductResponse get(UUID id) {
+        return products.getIfPresent(id);
+    }
+
+    public Map<UUID, ProductResponse> getAll(Collection<UUID> ids) {
+        return products.getAllPresent(ids);
+    }
+
+    public void put(ProductResponse product) {
+        products.put(product.getId(), product);
+    }
+
+    // Sorting by stock would reorder a page on every order, so those pages are never cached.
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged()
+                && pageable.getPageNumber() < firstPages
+                && pageable.getSort().getOrderFor("stock") == null;
+    }
+
+    public CachedPage getPage(Pageable pageable) {
+        return pages.getIfPresent(keyOf(pageable));
+    }
+
+    public void putPage(Pageable pageable, List<UUID> ids, long total) {
+        pages.put(keyOf(pageable), new CachedPage(List.copyOf(ids), total));
+    }
+
+    // Stock changed: the products are stale, the pages still list the right ids.
+    public void evict(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<UUID> copy = List.copyOf(ids);
+        products.invalidateAll(copy);
+        afterCommit(() -> products.invalidateAll(copy));
+        publishOrFlush(InvalidationTopic.PRODUCT, copy);
+    }
+
+    // Prices changed: the products are stale and pages sorted by price may list other ids.
+    public void evictRepriced(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<UUID> copy = List.copyOf(ids);
+        Runnable action = () -> {
+            products.invalidateAll(copy);
+            pages.invalidateAll();
+        };
+        action.run();
+        afterCommit(action);
+        publishOrFlush(InvalidationTopic.PRODUCT_CATALOG, copy);
+    }
+
+    // A product was created, edited or deleted: any page may now list different ids.
+    public void evictCatalog(UUID id) {
+        evictCatalog(List.of(id));
+    }
+
+    public void evictCatalog(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<UUID> copy = List.copyOf(ids);
+        Runnable action = () -> {
+            products.invalidateAll(copy);
+            pages.invalidateAll();
+        };
+        action.run();
+        afterCommit(action);
+        publish(InvalidationTopic.PRODUCT_CATALOG, copy);
+    }
+
+    // Units changed; the other nodes are told by the UNITS refresh.
+    public void evictAll() {
+        invalidateAll();
+        afterCommit(this::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return products.stats();
+    }
+
+    private void invalidateAll() {
+        products.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    // Past MAX_IDS_PUBLISHED ids, a single message making the other nodes drop their whole cache
+    // is cheaper than the ids. Only for writes that keep names and the set of products, since the
+    // search index does not listen to PRODUCT.
+    private void publishOrFlush(InvalidationTopic topic, List<UUID> ids) {
+        if (ids.size() > MAX_IDS_PUBLISHED) {
+            invalidationBus.publish(InvalidationTopic.PRODUCT, null);
+            return;
+        }
+        publish(topic, ids);
+    }
+
+    private void publish(InvalidationTopic topic, List<UUID> ids) {
+        for (int from = 0; from < ids.size(); from += IDS_PER_MESSAGE) {
+            List<String> chunk = new ArrayList<>(IDS_PER_MESSAGE);
+            for (UUID id : ids.subList(from, Math.min(ids.size(), from + IDS_PER_MESSAGE))) {
+                chunk.add(id.toString());
+            }
+            invalidationBus.publish(topic, String.join(",", chunk));
+        }
+    }
+
+    // Keys of both product topics are comma-separated ids.
+    static List<UUID> ids(String key) {
+        return Arrays.stream(key.split(",")).map(UUID::fromString).toList();
+    }
+
+    private static PageKey keyOf(Pageable pageable) {
+        return new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+    }
+
+    // A request running while the write is in flight could otherwise cache the old row again.
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.entities.Product;
+
+/**
+ * Keeps an {@link InvertedIndex} of every product for {@code GET /api/products/search}.
+ * <p>
+ * The index is built from the products table once the application is ready, then kept current
+ * by product writes after they commit, and by {@link InvalidationTopic#PRODUCT_CATALOG} messages
+ * for writes made on other nodes. A rebuild fills a fresh index while the old one keeps serving,
+ * and rereads the products written in the meantime before swapping them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final String SELECT_PRODUCTS = "select id, name, description from products";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    private final Object writeLock = new Object();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean built;
+    // Ids written while a rebuild reads the table; guarded by writeLock.
+    private Set<UUID> writtenDuringBuild;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("store.product.search.documents", this, search -> search.index.size())
+                .register(meterRegistry);
+        Gauge.builder("store.product.search.terms", this, search -> search.index.termCount())
+                .register(meterRegistry);
+        invalidationBus.subscribe(InvalidationTopic.PRODUCT_CATALOG, key -> {
+            if (key == null) {
+                // Missed messages; before the first build there is nothing to resync.
+                if (built) {
+                    rebuild();
+                }
+                return;
+            }
+            reload(ProductCache.ids(key));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public InvertedIndex.Hits search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    // Indexed once the surrounding transaction commits, so a rollback leaves the index untouched.
+    public void index(Product product) {
+        indexAll(List.of(product));
+    }
+
+    public void indexAll(Collection<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copies.add(Product.builder()
+                    .id(product.getId())
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .build());
+        }
+        afterCommit(() -> copies.forEach(copy -> apply(copy.getId(), copy.getName(), copy.getDescription())));
+    }
+
+    public void remove(UUID id) {
+        afterCommit(() -> apply(id, null, null));
+    }
+
+    public synchronized void rebuild() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        InvertedIndex next = new InvertedIndex();
+        synchronized (writeLock) {
+            writtenDuringBuild = new HashSet<>();
+        }
+        try {
+            readOnly().executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_PRODUCTS);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                next.put(rs.getObject("id", UUID.class), rs.getString("name"), rs.getString("description"));
+            }));
+            synchronized (writeLock) {
+                // The scan may have read these rows before their write committed.
+                for (UUID id : writtenDuringBuild) {
+                    List<Product> rows = select(id);
+                    if (rows.isEmpty()) {
+                        next.remove(id);
+                    } else {
+                        next.put(id, rows.get(0).getName(), rows.get(0).getDescription());
+                    }
+                }
+                index = next;
+                built = true;
+            }
+        } finally {
+            synchronized (writeLock) {
+                writtenDuringBuild = null;
+            }
+        }
+        long millis = sample.stop(meterRegistry.timer("store.product.search.build")) / 1_000_000;
+        log.info("Indexed {} products ({} terms) for search in {} ms", next.size(), next.termCount(), millis);
+    }
+
+    // One query per message; ids missing from the table were deleted.
+    private void reload(List<UUID> ids) {
+        synchronized (writeLock) {
+            Set<UUID> deleted = new HashSet<>(ids);
+            for (Product row : select(ids)) {
+                apply(row.getId(), row.getName(), row.getDescription());
+                deleted.remove(row.getId());
+            }
+            for (UUID id : deleted) {
+                apply(id, null, null);
+            }
+        }
+    }
+
+    // A null name removes the product.
+    private void apply(UUID id, String name, String description) {
+        synchronized (writeLock) {
+            if (name == null) {
+                index.remove(id);
+            } else {
+                index.put(id, name, description);
+            }
+            if (writtenDuringBuild != null) {
+                writtenDuringBuild.add(id);
+            }
+        }
+    }
+
+    private List<Product> select(UUID id) {
+        return select(List.of(id));
+    }
+
+    private List<Product> select(List<UUID> ids) {
+        String sql = SELECT_PRODUCTS + " where id in (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> Product.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .build(), ids.toArray());
+    }
+
+    // Postgres only streams with a fetch size inside a transaction.
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
@@ -1,19 +1,42 @@
 package marcostar.project.store_project.services.implementations;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentRequest;
+import marcostar.project.store_project.dtos.product.ProductAdjustmentResponse;
+import marcostar.project.store_project.dtos.product.ProductImportResult;
+import marcostar.project.store_project.dtos.product.ProductImportRow;
 import marcostar.project.store_project.dtos.product.ProductRequest;
 import marcostar.project.store_project.dtos.product.ProductResponse;
 import marcostar.project.store_project.entities.Product;
 import marcostar.project.store_project.entities.Unit;
 import marcostar.project.store_project.entities.enums.MovementType;
+import marcostar.project.store_project.repositories.OrderRepository;
 import marcostar.project.store_project.repositories.ProductRepository;
 import marcostar.project.store_project.repositories.UnitRepository;
 import marcostar.project.store_project.services.ProductService;
@@ -22,21 +45,95 @@ import marcostar.project.store_project.services.StockService;
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+	private static final int MAX_QUERY_LENGTH = 200;
+	private static final int MAX_SEARCH_OFFSET = 10_000;
+	private static final String INITIAL_STOCK_REASON = "Initial stock";
+	private static final String INSERT_PRODUCT = "insert into products "
+			+ "(id, name, description, price, stock, unit_id, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_MOVEMENT = "insert into stock_movements "
+			+ "(id, product_id, quantity, type, unit_id, reason, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
     private final ProductRepository productRepository;
 	private final StockService stockService;
 	private final UnitRepository unitRepository;
+	private final OrderRepository orderRepository;
+	private final ProductCache productCache;
+	private final ProductSearchIndex searchIndex;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Validator validator;
+
+	@Value("${store.product-import.batch-size:1000}")
+	private int importBatchSize;
 
     @Override
 	public Page<ProductResponse> getAll(Pageable pageable) {
-		return productRepository.findAll(pageable)
+		if (!productCache.isCacheable(pageable)) {
+			return productRepository.findAll(pageable)
+					.map(this::toResponse);
+		}
+		ProductCache.CachedPage cached = productCache.getPage(pageable);
+		if (cached != null) {
+			Map<UUID, ProductResponse> found = load(cached.ids());
+			// Otherwise a product of the page was deleted and the page is reloaded.
+			if (found.size() == cached.ids().size()) {
+				return new PageImpl<>(inOrder(cached.ids(), found), pageable, cached.total());
+			}
+		}
+		Page<ProductResponse> page = productRepository.findAll(pageable)
 				.map(this::toResponse);
+		List<UUID> ids = new ArrayList<>(page.getNumberOfElements());
+		for (ProductResponse product : page.getContent()) {
+			productCache.put(product);
+			ids.add(product.getId());
+		}
+		productCache.putPage(pageable, ids, page.getTotalElements());
+		return page;
+	}
+
+	// Cached products by id, loading the evicted ones in one query; deleted products are absent.
+	private Map<UUID, ProductResponse> load(List<UUID> ids) {
+		Map<UUID, ProductResponse> found = new HashMap<>(productCache.getAll(ids));
+		if (found.size() < ids.size()) {
+			List<UUID> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+			for (Product product : productRepository.findAllWithUnitByIdIn(missing)) {
+				ProductResponse response = toResponse(product);
+				productCache.put(response);
+				found.put(response.getId(), response);
+			}
+		}
+		return found;
+	}
+
+	private static List<ProductResponse> inOrder(List<UUID> ids, Map<UUID, ProductResponse> found) {
+		return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+	}
+
+	@Override
+	public Page<ProductResponse> search(String query, Pageable pageable) {
+		if (query == null || query.isBlank()) {
+			throw new IllegalArgumentException("Search query is required");
+		}
+		if (query.length() > MAX_QUERY_LENGTH) {
+			throw new IllegalArgumentException("Search query is too long");
+		}
+		if (pageable.getOffset() > MAX_SEARCH_OFFSET) {
+			throw new IllegalArgumentException("Search page is too deep");
+		}
+		InvertedIndex.Hits hits = searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+		return new PageImpl<>(inOrder(hits.ids(), load(hits.ids())), pageable, hits.total());
 	}
 
     @Override
 	public ProductResponse getById(UUID id) {
-		return productRepository.findById(id)
+		ProductResponse cached = productCache.get(id);
+		if (cached != null) {
+			return cached;
+		}
+		ProductResponse product = productRepository.findById(id)
 				.map(this::toResponse)
 				.orElseThrow(() -> new IllegalArgumentException("Product not found"));
+		productCache.put(product);
+		return product;
 	}
 
     @Override
@@ -53,14 +150,142 @@ public class ProductServiceImpl implements ProductService {
 				.unit(unit)
 				.build();
 		Product saved = productRepository.save(product);
+		productCache.evictCatalog(saved.getId());
+		searchIndex.index(saved);
 		
 		if (saved.getStock() != null && saved.getStock().compareTo(BigDecimal.ZERO) > 0) {
-			stockService.recordMovement(saved, saved.getStock(), MovementType.IN, saved.getUnit(), "Initial stock");
+			stockService.recordMovement(saved, saved.getStock(), MovementType.IN, saved.getUnit(), INITIAL_STOCK_REASON);
 		}
 		
 		return toResponse(saved);
 	}
 
+	// Rows are inserted in transactions of store.product-import.batch-size, each one JDBC batch
+	// of products and one of their initial stock movements. A failing transaction is replayed
+	// one row at a time so a single bad row only rejects itself.
+	@Override
+	public void importProducts(Iterator<ProductImportRow> rows, Consumer<List<ProductImportResult>> onCommit) {
+		Map<String, Unit> units = new HashMap<>();
+		for (Unit unit : unitRepository.findAll()) {
+			units.put(unit.getCode().toUpperCase(Locale.ROOT), unit);
+		}
+		int batchSize = Math.max(1, importBatchSize);
+		List<PendingProduct> batch = new ArrayList<>(batchSize);
+		List<ProductImportResult> rejected = new ArrayList<>();
+		int index = 0;
+		while (true) {
+			try {
+				if (!rows.hasNext()) {
+					break;
+				}
+				ProductImportRow row = rows.next();
+				String error = validate(row);
+				Unit unit = error == null ? units.get(row.getUnit().strip().toUpperCase(Locale.ROOT)) : null;
+				if (error == null && unit == null) {
+					error = "Unit not found: " + row.getUnit();
+				}
+				if (error != null) {
+					rejected.add(ProductImportResult.failed(index, error));
+				} else {
+					batch.add(new PendingProduct(index, UUID.randomUUID(), row, unit));
+				}
+			} catch (IllegalArgumentException e) {
+				// The reader rejected this row alone and stands on the next one.
+				rejected.add(ProductImportResult.failed(index, e.getMessage()));
+			} catch (RuntimeException e) {
+				// The body cannot be read past this point.
+				rejected.add(ProductImportResult.failed(index, "Malformed row: " + e.getMessage()));
+				break;
+			}
+			index++;
+			if (batch.size() == batchSize || rejected.size() == batchSize) {
+				onCommit.accept(merge(rejected, insertBatch(batch)));
+				batch.clear();
+				rejected.clear();
+			}
+		}
+		if (!batch.isEmpty() || !rejected.isEmpty()) {
+			onCommit.accept(merge(rejected, insertBatch(batch)));
+		}
+	}
+
+	private record PendingProduct(int index, UUID id, ProductImportRow row, Unit unit) {
+	}
+
+	private List<ProductImportResult> insertBatch(List<PendingProduct> batch) {
+		if (batch.isEmpty()) {
+			return List.of();
+		}
+		try {
+			return transactionTemplate.execute(status -> {
+				Timestamp now = new Timestamp(System.currentTimeMillis());
+				List<Object[]> products = new ArrayList<>(batch.size());
+				List<Object[]> movements = new ArrayList<>(batch.size());
+				List<Product> indexed = new ArrayList<>(batch.size());
+				for (PendingProduct pending : batch) {
+					ProductImportRow row = pending.row();
+					BigDecimal stock = row.getStock() == null ? BigDecimal.ZERO : row.getStock();
+					UUID unitId = pending.unit().getId();
+					products.add(new Object[] {pending.id(), row.getName(), row.getDescription(), row.getPrice(),
+							stock, unitId, now, now});
+					if (stock.compareTo(BigDecimal.ZERO) > 0) {
+						movements.add(new Object[] {UUID.randomUUID(), pending.id(), stock, MovementType.IN.ordinal(),
+								unitId, INITIAL_STOCK_REASON, now, now});
+					}
+					indexed.add(Product.builder()
+							.id(pending.id())
+							.name(row.getName())
+							.description(row.getDescription())
+							.build());
+				}
+				jdbcTemplate.batchUpdate(INSERT_PRODUCT, products);
+				if (!movements.isEmpty()) {
+					jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements);
+				}
+				productCache.evictCatalog(indexed.stream().map(Product::getId).toList());
+				searchIndex.indexAll(indexed);
+
+				List<ProductImportResult> results = new ArrayList<>(batch.size());
+				for (PendingProduct pending : batch) {
+					results.add(ProductImportResult.created(pending.index(), pending.id()));
+				}
+				return results;
+			});
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				return List.of(ProductImportResult.failed(batch.get(0).index(), BulkFailures.messageOf(e)));
+			}
+			List<ProductImportResult> results = new ArrayList<>(batch.size());
+			for (PendingProduct pending : batch) {
+				results.addAll(insertBatch(List.of(pending)));
+			}
+			return results;
+		}
+	}
+
+	private String validate(ProductImportRow row) {
+		if (row == null) {
+			return "Row must not be null";
+		}
+		Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+				.sorted()
+				.reduce((a, b) -> a + ", " + b)
+				.orElseThrow();
+	}
+
+	private static List<ProductImportResult> merge(List<ProductImportResult> rejected, List<ProductImportResult> created) {
+		List<ProductImportResult> results = new ArrayList<>(rejected.size() + created.size());
+		results.addAll(rejected);
+		results.addAll(created);
+		results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+		return results;
+	}
+
     @Override
 	@Transactional
 	public ProductResponse update(UUID id, ProductRequest request) {
@@ -80,11 +305,19 @@ public class ProductServiceImpl implements ProductService {
 			}
 			
 		}
+		// Stock reservations also move products.updated_at, so the my-orders fingerprint only
+		// follows the orders; the ones showing this product are bumped when its name changes.
+		boolean renamed = !Objects.equals(product.getName(), request.getName());
 		product.setName(request.getName());
 		product.setDescription(request.getDescription());
 		product.setPrice(request.getPrice());
 		product.setUnit(unit);
 		Product saved = productRepository.save(product);
+		if (renamed) {
+			orderRepository.touchByProductId(saved.getId(), new Date());
+		}
+		productCache.evictCatalog(saved.getId());
+		searchIndex.index(saved);
 		
 		BigDecimal delta = (saved.getStock() == null ? BigDecimal.ZERO : saved.getStock()).subtract(oldStock);
 		if (delta.compareTo(BigDecimal.ZERO) != 0) {
@@ -94,6 +327,115 @@ public class ProductServiceImpl implements ProductService {
 		return toResponse(saved);
 	}
 
+	// The selected rows are locked in ascending id order, as stock reservations lock them, and
+	// changed by a single statement; the ADJUSTMENT movements go out as one JDBC batch.
+	@Override
+	@Transactional
+	public ProductAdjustmentResponse adjust(ProductAdjustmentRequest request) {
+		BigDecimal stockDelta = request.getStockDelta();
+		boolean stockChanged = stockDelta != null && stockDelta.signum() != 0;
+		boolean priceChanged = request.getPrice() != null || request.getPricePercent() != null;
+		if (request.getPrice() != null && request.getPricePercent() != null) {
+			throw new IllegalArgumentException("Either price or price percent can be set, not both");
+		}
+		if (!priceChanged && !stockChanged) {
+			throw new IllegalArgumentException("Price or stock change is required");
+		}
+		if (stockChanged && (request.getStockChangeReason() == null || request.getStockChangeReason().isBlank())) {
+			throw new IllegalArgumentException("Stock change reason is required when stock is updated");
+		}
+
+		List<Object> args = new ArrayList<>();
+		StringBuilder sql = new StringBuilder("update products p set updated_at = current_timestamp");
+		if (request.getPrice() != null) {
+			sql.append(", price = ?");
+			args.add(request.getPrice());
+		} else if (request.getPricePercent() != null) {
+			sql.append(", price = round(p.price * (100 + ?) / 100, 2)");
+			args.add(request.getPricePercent());
+		}
+		if (stockChanged) {
+			sql.append(", stock = p.stock + ?");
+			args.add(stockDelta);
+		}
+		sql.append(" from (select id from products where ");
+		appendSelection(request, sql, args);
+		sql.append(" order by id for update) target where p.id = target.id returning p.id, p.unit_id, p.name, p.stock");
+
+		List<AdjustedProduct> adjusted = jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(sql.toString());
+			for (int i = 0; i < args.size(); i++) {
+				if (args.get(i) instanceof UUID[] ids) {
+					statement.setArray(i + 1, connection.createArrayOf("uuid", ids));
+				} else {
+					statement.setObject(i + 1, args.get(i));
+				}
+			}
+			return statement;
+		}, (rs, rowNum) -> new AdjustedProduct(
+				rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getString(3), rs.getBigDecimal(4)));
+		if (adjusted.isEmpty()) {
+			return new ProductAdjustmentResponse(0, 0);
+		}
+
+		List<UUID> ids = new ArrayList<>(adjusted.size());
+		List<Object[]> movements = new ArrayList<>(stockChanged ? adjusted.size() : 0);
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		for (AdjustedProduct product : adjusted) {
+			// The rows are locked, so a negative stock can only come from this delta; throwing rolls it back.
+			if (product.stock().signum() < 0) {
+				throw new IllegalArgumentException("Insufficient stock for product: " + product.name());
+			}
+			ids.add(product.id());
+			if (stockChanged) {
+				movements.add(new Object[] {UUID.randomUUID(), product.id(), stockDelta, MovementType.ADJUSTMENT.ordinal(),
+						product.unitId(), request.getStockChangeReason(), now, now});
+			}
+		}
+		if (!movements.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements);
+		}
+		if (priceChanged) {
+			productCache.evictRepriced(ids);
+		} else {
+			productCache.evict(ids);
+		}
+		return new ProductAdjustmentResponse(adjusted.size(), movements.size());
+	}
+
+	private record AdjustedProduct(UUID id, UUID unitId, String name, BigDecimal stock) {
+	}
+
+	// Every given criterion must match; without any, the whole catalog would change by accident.
+	private static void appendSelection(ProductAdjustmentRequest request, StringBuilder sql, List<Object> args) {
+		List<String> criteria = new ArrayList<>();
+		if (request.getProductIds() != null && !request.getProductIds().isEmpty()) {
+			criteria.add("id = any(?)");
+			args.add(request.getProductIds().toArray(UUID[]::new));
+		}
+		if (request.getUnitId() != null) {
+			criteria.add("unit_id = ?");
+			args.add(request.getUnitId());
+		}
+		if (request.getNameContains() != null && !request.getNameContains().isBlank()) {
+			criteria.add("name ilike ?");
+			args.add("%" + request.getNameContains().strip()
+					.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+		}
+		if (request.getMinPrice() != null) {
+			criteria.add("price >= ?");
+			args.add(request.getMinPrice());
+		}
+		if (request.getMaxPrice() != null) {
+			criteria.add("price <= ?");
+			args.add(request.getMaxPrice());
+		}
+		if (criteria.isEmpty()) {
+			throw new IllegalArgumentException("Product ids or a filter are required");
+		}
+		sql.append(String.join(" and ", criteria));
+	}
+
     @Override
 	@Transactional
 	public void delete(UUID id) {
@@ -101,6 +443,8 @@ public class ProductServiceImpl implements ProductService {
 			throw new IllegalArgumentException("Product not found");
 		}
 		productRepository.deleteById(id);
+		productCache.evictCatalog(id);
+		searchIndex.remove(id);
 	}
 
 	private ProductResponse toResponse(Product product) {
@@ -113,6 +457,7 @@ public class ProductServiceImpl implements ProductService {
 				.unitId(product.getUnit().getId())
 				.unitCode(product.getUnit().getCode())
 				.unitSymbol(product.getUnit().getSymbol())
+				.etag(ETags.of(product.getUpdatedAt(), product.getUnit().getUpdatedAt()))
 				.build();
 	}
 }
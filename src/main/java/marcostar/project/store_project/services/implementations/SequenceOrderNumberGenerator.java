@@ -0,0 +1,70 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import marcostar.project.store_project.services.OrderNumberGenerator;
+
+/**
+ * Hands out order numbers from blocks reserved on a shared database sequence. The sequence
+ * increments by the block size, so each {@code nextval} call reserves a whole block for this
+ * instance and the database is only hit once every {@code block-size} orders.
+ * <p>
+ * The sequence is created by the {@code V1} migration. Startup fails if its increment differs
+ * from the configured block size, since blocks of two instances would then overlap.
+ */
+@Component
+@ConditionalOnProperty(name = "store.order-number.strategy", havingValue = "sequence", matchIfMissing = true)
+public class SequenceOrderNumberGenerator implements OrderNumberGenerator {
+    static final String SEQUENCE = "order_number_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public SequenceOrderNumberGenerator(JdbcTemplate jdbcTemplate,
+            @Value("${store.order-number.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Order number block size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    @PostConstruct
+    void checkSequence() {
+        List<Long> increments = jdbcTemplate.queryForList(
+                "select increment_by from pg_sequences where schemaname = current_schema() and sequencename = ?",
+                Long.class, SEQUENCE);
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " not found");
+        }
+        if (increments.get(0) != blockSize) {
+            throw new IllegalStateException("Order number block size " + blockSize
+                    + " does not match the increment of " + SEQUENCE + " (" + increments.get(0) + ")");
+        }
+    }
+
+    @Override
+    public String next() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                Long start = jdbcTemplate.queryForObject("select nextval('" + SEQUENCE + "')", Long.class);
+                next = start;
+                limit = start + blockSize;
+            }
+            return String.format("ORD-%012d", next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import marcostar.project.store_project.services.OrderNumberGenerator;
+
+/**
+ * Snowflake-style ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and
+ * 12 bits of per-millisecond sequence. Instances must be started with distinct node ids.
+ */
+@Component
+@ConditionalOnProperty(name = "store.order-number.strategy", havingValue = "snowflake")
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+    static final long EPOCH = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final Clock clock;
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    // No default: two instances falling back to the same node id would hand out the same numbers.
+    @Autowired
+    public SnowflakeOrderNumberGenerator(@Value("${store.order-number.node-id:}") Long nodeId) {
+        this(required(nodeId), Clock.systemUTC());
+    }
+
+    SnowflakeOrderNumberGenerator(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Order number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    private static long required(Long nodeId) {
+        if (nodeId == null) {
+            throw new IllegalStateException("store.order-number.node-id is required by the snowflake strategy");
+        }
+        return nodeId;
+    }
+
+    @Override
+    public String next() {
+        return "ORD-" + nextId();
+    }
+
+    long nextId() {
+        while (true) {
+            long last = state.get();
+            // A clock that goes backwards keeps the last timestamp; an exhausted sequence rolls
+            // into the next millisecond, so ids stay strictly increasing on this node.
+            long candidate = Math.max((clock.millis() - EPOCH) << SEQUENCE_BITS, last + 1);
+            if (state.compareAndSet(last, candidate)) {
+                long timestamp = candidate >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                        | (nodeId << SEQUENCE_BITS)
+                        | (candidate & SEQUENCE_MASK);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.services.StockReservationService;
+
+/**
+ * Applies stock changes as conditional in-place updates, so concurrent orders can never
+ * drive {@link Product#getStock()} below zero. Rows are always touched in ascending id
+ * order, which keeps the row locks taken by concurrent transactions deadlock-free.
+ * All rows of one call go out as a single JDBC batch. The changed products are evicted from
+ * the {@link ProductCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+    // A negative delta always passes the stock guard, so releases share the statement.
+    private static final String APPLY_DELTA = "update products set stock = stock - ?, updated_at = current_timestamp "
+            + "where id = ? and stock >= ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ProductCache> productCache;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Map<UUID, BigDecimal> quantities) {
+        apply(new TreeMap<>(quantities));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Map<UUID, BigDecimal> quantities) {
+        TreeMap<UUID, BigDecimal> deltas = new TreeMap<>();
+        quantities.forEach((id, quantity) -> deltas.put(id, quantity.negate()));
+        apply(deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(Map<UUID, BigDecimal> released, Map<UUID, BigDecimal> reserved) {
+        TreeMap<UUID, BigDecimal> deltas = new TreeMap<>(reserved);
+        released.forEach((id, quantity) -> deltas.merge(id, quantity.negate(), BigDecimal::add));
+        apply(deltas);
+    }
+
+    private void apply(TreeMap<UUID, BigDecimal> deltas) {
+        List<UUID> ids = new ArrayList<>(deltas.size());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            if (delta.signum() != 0) {
+                ids.add(productId);
+                args.add(new Object[] {delta, productId, delta});
+            }
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+        productRepository.flush();
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                UUID productId = ids.get(i);
+                if (deltas.get(productId).signum() < 0) {
+                    throw new IllegalArgumentException("Product not found");
+                }
+                String name = productRepository.findById(productId)
+                        .map(Product::getName)
+                        .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+                throw new IllegalArgumentException("Insufficient stock for product: " + name);
+            }
+        }
+        productCache.ifAvailable(cache -> cache.evict(ids));
+    }
+}
@@ -1,13 +1,36 @@
 package marcostar.project.store_project.services.implementations;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.dtos.pagination.KeysetCursor;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
+import marcostar.project.store_project.dtos.stock.MovementExportFormat;
+import marcostar.project.store_project.dtos.stock.MovementExportRow;
 import marcostar.project.store_project.entities.Product;
 import marcostar.project.store_project.entities.StockMovement;
 import marcostar.project.store_project.entities.Unit;
@@ -15,15 +38,33 @@ import marcostar.project.store_project.entities.enums.MovementType;
 import marcostar.project.store_project.repositories.StockMovementRepository;
 import marcostar.project.store_project.services.StockService;
 import marcostar.project.store_project.services.UnitConversionService;
+import tools.jackson.databind.ObjectMapper;
 
 @Service
 @RequiredArgsConstructor
 public class StockServiceImpl implements StockService {
+    private static final int MAX_SCROLL_LIMIT = 100;
+    private static final String MOVEMENTS_METRIC = "store.stock.movements";
+    // Oldest first, so an export replays the history in order and resumes with a row-value
+    // comparison served by the (created_at, id) and (product_id, created_at, id) indexes.
+    private static final String EXPORT_SELECT = "select m.id, m.created_at, m.product_id, p.name, m.type, m.quantity, "
+            + "u.code, m.reason from stock_movements m "
+            + "join products p on p.id = m.product_id "
+            + "join units u on u.id = m.unit_id "
+            + "where m.created_at is not null";
+    private static final String CSV_HEADER = "id,created_at,product_id,product_name,type,quantity,unit,reason,cursor\n";
     private final StockMovementRepository stockMovementRepository;
     private final UnitConversionService unitConversionService;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${store.movement-export.fetch-size:1000}")
+    private int exportFetchSize;
     
     @Override
     public StockMovement recordMovement(Product product, BigDecimal quantity, MovementType type, Unit unit, String reason) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         BigDecimal quantityInProductUnit = quantity;
         if (!unit.getId().equals(product.getUnit().getId())) {
             BigDecimal converted = unitConversionService.convert(
@@ -35,7 +76,28 @@ public class StockServiceImpl implements StockService {
         }
         
         StockMovement m = new StockMovement(product, quantityInProductUnit, type, unit, reason);
-        return stockMovementRepository.save(m);
+        StockMovement saved = stockMovementRepository.save(m);
+        record(sample, "single", 1);
+        return saved;
+    }
+
+    @Override
+    public List<StockMovement> recordMovements(List<StockMovement> movements) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        for (StockMovement m : movements) {
+            Product product = m.getProduct();
+            if (!m.getUnit().getId().equals(product.getUnit().getId())) {
+                m.setQuantity(unitConversionService.convert(m.getQuantity(), m.getUnit(), product.getUnit()));
+            }
+        }
+        List<StockMovement> saved = stockMovementRepository.saveAll(movements);
+        record(sample, "batch", saved.size());
+        return saved;
+    }
+
+    private void record(Timer.Sample sample, String mode, int count) {
+        sample.stop(meterRegistry.timer(MOVEMENTS_METRIC, "mode", mode));
+        meterRegistry.counter(MOVEMENTS_METRIC + ".recorded", "mode", mode).increment(count);
     }
 
     @Override
@@ -47,4 +109,129 @@ public class StockServiceImpl implements StockService {
     public Page<StockMovement> getAllMovements(Pageable pageable) {
         return stockMovementRepository.findAll(pageable);
     }
+
+    @Override
+    public KeysetSlice<StockMovement> scrollAllMovements(String after, int limit) {
+        Pageable pageable = PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_SCROLL_LIMIT)));
+        Slice<StockMovement> slice;
+        if (after == null || after.isBlank()) {
+            slice = stockMovementRepository.findFirstSlice(pageable);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            slice = stockMovementRepository.findSliceAfter(cursor.createdAt(), cursor.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            StockMovement last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new KeysetSlice<>(slice.getContent(), slice.getNumberOfElements(), slice.hasNext(), nextCursor);
+    }
+
+    // Rows go straight from a forward-only cursor to the output, fetchSize at a time; the
+    // transaction keeps Postgres from materializing the whole result set in the driver.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMovements(Instant from, Instant to, UUID productId, KeysetCursor after,
+            MovementExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        List<Object> args = new ArrayList<>(5);
+        if (from != null) {
+            sql.append(" and m.created_at >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" and m.created_at < ?");
+            args.add(Timestamp.from(to));
+        }
+        if (productId != null) {
+            sql.append(" and m.product_id = ?");
+            args.add(productId);
+        }
+        if (after != null) {
+            sql.append(" and (m.created_at, m.id) > (?, ?)");
+            args.add(after.createdAt());
+            args.add(after.id());
+        }
+        sql.append(" order by m.created_at, m.id");
+
+        int fetchSize = Math.max(1, exportFetchSize);
+        int[] rows = {0};
+        if (format == MovementExportFormat.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                writeRow(out, format, toExportRow(rs));
+                if (++rows[0] % fetchSize == 0) {
+                    flush(out);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        meterRegistry.counter(MOVEMENTS_METRIC + ".exported", "format", format.name().toLowerCase(Locale.ROOT)).increment(rows[0]);
+    }
+
+    private static MovementExportRow toExportRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp(2);
+        UUID id = rs.getObject(1, UUID.class);
+        Object type = rs.getObject(5);
+        return new MovementExportRow(
+                id,
+                createdAt.toInstant(),
+                rs.getObject(3, UUID.class),
+                rs.getString(4),
+                type == null ? null : MovementType.values()[((Number) type).intValue()],
+                rs.getBigDecimal(6),
+                rs.getString(7),
+                rs.getString(8),
+                KeysetCursor.of(createdAt, id).encode());
+    }
+
+    private void writeRow(OutputStream out, MovementExportFormat format, MovementExportRow row) {
+        try {
+            if (format == MovementExportFormat.CSV) {
+                String line = String.join(",",
+                        csv(row.id()), csv(row.createdAt()), csv(row.productId()), csv(row.productName()),
+                        csv(row.type()), csv(row.quantity() == null ? null : row.quantity().toPlainString()),
+                        csv(row.unit()), csv(row.reason()), csv(row.cursor()));
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(objectMapper.writeValueAsBytes(row));
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
 }
@@ -0,0 +1,215 @@
+package marcostar.project.store_project.services.implementations;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.UnitConversion;
+import marcostar.project.store_project.entities.enums.UnitCategory;
+
+/**
+ * Immutable snapshot of every unit and conversion factor, indexed per category.
+ * Built once from the database and swapped as a whole when units or conversions change,
+ * so {@link #convert(BigDecimal, UUID, UUID)} never touches the repositories.
+ */
+public final class UnitConversionGraph {
+
+    public enum Path {
+        IDENTITY,
+        DIRECT,
+        VIA_BASE
+    }
+
+    public record Node(UUID id, String code, UnitCategory category, boolean baseUnit, int index) {
+    }
+
+    private static final class CategoryMatrix {
+        private final BigDecimal[][] factors;
+        private final Path[][] paths;
+        private final Node baseUnit;
+
+        private CategoryMatrix(BigDecimal[][] factors, Path[][] paths, Node baseUnit) {
+            this.factors = factors;
+            this.paths = paths;
+            this.baseUnit = baseUnit;
+        }
+    }
+
+    private static final UnitConversionGraph EMPTY = new UnitConversionGraph(Map.of(), Map.of(), Map.of());
+
+    private final Map<UUID, Node> unitsById;
+    private final Map<String, Node> unitsByCode;
+    private final Map<UnitCategory, CategoryMatrix> matrices;
+
+    private UnitConversionGraph(Map<UUID, Node> unitsById, Map<String, Node> unitsByCode,
+            Map<UnitCategory, CategoryMatrix> matrices) {
+        this.unitsById = unitsById;
+        this.unitsByCode = unitsByCode;
+        this.matrices = matrices;
+    }
+
+    public static UnitConversionGraph empty() {
+        return EMPTY;
+    }
+
+    public static UnitConversionGraph build(Collection<Unit> units, Collection<UnitConversion> conversions) {
+        Map<UnitCategory, Integer> sizes = new EnumMap<>(UnitCategory.class);
+        Map<UUID, Node> unitsById = new HashMap<>();
+        Map<String, Node> unitsByCode = new HashMap<>();
+        Map<UnitCategory, Node> baseUnits = new EnumMap<>(UnitCategory.class);
+
+        for (Unit unit : units) {
+            int index = sizes.merge(unit.getCategory(), 1, Integer::sum) - 1;
+            Node node = new Node(unit.getId(), unit.getCode(), unit.getCategory(),
+                    Boolean.TRUE.equals(unit.getIsBaseUnit()), index);
+            unitsById.put(node.id(), node);
+            unitsByCode.put(node.code(), node);
+            if (node.baseUnit()) {
+                baseUnits.put(node.category(), node);
+            }
+        }
+
+        Map<UnitCategory, Node[]> nodesByCategory = new EnumMap<>(UnitCategory.class);
+        sizes.forEach((category, size) -> nodesByCategory.put(category, new Node[size]));
+        unitsById.values().forEach(node -> nodesByCategory.get(node.category())[node.index()] = node);
+
+        Map<UnitCategory, BigDecimal[][]> factorsByCategory = new EnumMap<>(UnitCategory.class);
+        Map<UnitCategory, Path[][]> pathsByCategory = new EnumMap<>(UnitCategory.class);
+        sizes.forEach((category, size) -> {
+            BigDecimal[][] factors = new BigDecimal[size][size];
+            Path[][] paths = new Path[size][size];
+            for (int i = 0; i < size; i++) {
+                factors[i][i] = BigDecimal.ONE;
+                paths[i][i] = Path.IDENTITY;
+            }
+            factorsByCategory.put(category, factors);
+            pathsByCategory.put(category, paths);
+        });
+
+        for (UnitConversion conversion : conversions) {
+            Node from = unitsById.get(conversion.getFromUnit().getId());
+            Node to = unitsById.get(conversion.getToUnit().getId());
+            if (from == null || to == null || from.category() != to.category() || from.index() == to.index()) {
+                continue;
+            }
+            factorsByCategory.get(from.category())[from.index()][to.index()] = conversion.getFactor();
+            pathsByCategory.get(from.category())[from.index()][to.index()] = Path.DIRECT;
+        }
+
+        Map<UnitCategory, CategoryMatrix> matrices = new EnumMap<>(UnitCategory.class);
+        nodesByCategory.forEach((category, nodes) -> {
+            BigDecimal[][] factors = factorsByCategory.get(category);
+            Path[][] paths = pathsByCategory.get(category);
+            Node base = baseUnits.get(category);
+            if (base != null) {
+                int b = base.index();
+                for (int i = 0; i < nodes.length; i++) {
+                    for (int j = 0; j < nodes.length; j++) {
+                        if (paths[i][j] == null && factors[i][b] != null && factors[b][j] != null) {
+                            factors[i][j] = factors[i][b].multiply(factors[b][j]);
+                            paths[i][j] = Path.VIA_BASE;
+                        }
+                    }
+                }
+            }
+            matrices.put(category, new CategoryMatrix(factors, paths, base));
+        });
+
+        return new UnitConversionGraph(
+                Collections.unmodifiableMap(unitsById),
+                Collections.unmodifiableMap(unitsByCode),
+                Collections.unmodifiableMap(matrices));
+    }
+
+    public Optional<Node> findById(UUID id) {
+        return Optional.ofNullable(unitsById.get(id));
+    }
+
+    public Optional<Node> findByCode(String code) {
+        return Optional.ofNullable(unitsByCode.get(code));
+    }
+
+    public Optional<Node> findBaseUnit(UnitCategory category) {
+        CategoryMatrix matrix = matrices.get(category);
+        return matrix == null ? Optional.empty() : Optional.ofNullable(matrix.baseUnit);
+    }
+
+    /**
+     * A resolved conversion between two units: the path it takes and the factor to apply.
+     */
+    public record Conversion(Path path, BigDecimal factor, boolean toBaseUnit) {
+
+        public BigDecimal apply(BigDecimal quantity) {
+            return switch (path) {
+                case IDENTITY -> quantity;
+                case DIRECT -> quantity.multiply(factor).setScale(3, RoundingMode.HALF_UP);
+                case VIA_BASE -> toBaseUnit
+                        ? quantity.multiply(factor)
+                        : quantity.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+            };
+        }
+    }
+
+    public Path pathOf(UUID fromUnitId, UUID toUnitId) {
+        return conversion(fromUnitId, toUnitId).path();
+    }
+
+    public BigDecimal convert(BigDecimal quantity, UUID fromUnitId, UUID toUnitId) {
+        return conversion(fromUnitId, toUnitId).apply(quantity);
+    }
+
+    public Conversion conversion(UUID fromUnitId, UUID toUnitId) {
+        Node from = require(fromUnitId, "From unit not found: ");
+        Node to = require(toUnitId, "To unit not found: ");
+        checkCategories(from, to);
+
+        Path path = resolvePath(from, to);
+        return new Conversion(path, matrices.get(from.category()).factors[from.index()][to.index()], to.baseUnit());
+    }
+
+    public int size() {
+        return unitsById.size();
+    }
+
+    private Node require(UUID id, String message) {
+        Node node = unitsById.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException(message + id);
+        }
+        return node;
+    }
+
+    private void checkCategories(Node from, Node to) {
+        if (from.category() != to.category()) {
+            throw new IllegalArgumentException(
+                String.format("Cannot convert between different unit categories: %s to %s",
+                    from.category(), to.category())
+            );
+        }
+    }
+
+    private Path resolvePath(Node from, Node to) {
+        CategoryMatrix matrix = matrices.get(from.category());
+        Path path = matrix.paths[from.index()][to.index()];
+        if (path != null) {
+            return path;
+        }
+        if (matrix.baseUnit == null) {
+            throw new IllegalArgumentException("No base unit found for category: " + from.category());
+        }
+        Node base = matrix.baseUnit;
+        if (matrix.factors[from.index()][base.index()] == null) {
+            throw new IllegalArgumentException(
+                String.format("No conversion found from %s to base unit %s", from.code(), base.code()));
+        }
+        throw new IllegalArgumentException(
+            String.format("No conversion found from base unit %s to %s", base.code(), to.code()));
+    }
+}
@@ -1,15 +1,26 @@
 package marcostar.project.store_project.services.implementations;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
 import marcostar.project.store_project.entities.Unit;
-import marcostar.project.store_project.entities.UnitConversion;
 import marcostar.project.store_project.entities.enums.UnitCategory;
 import marcostar.project.store_project.repositories.UnitConversionRepository;
 import marcostar.project.store_project.repositories.UnitRepository;
@@ -20,9 +31,22 @@ import marcostar.project.store_project.services.UnitConversionService;
 public class UnitConversionServiceImpl implements UnitConversionService {
     private final UnitConversionRepository unitConversionRepository;
     private final UnitRepository unitRepository;
+    private final InvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<UnitConversionGraph> graph = new AtomicReference<>();
+    // Reloads run one at a time, so each one reads the tables after the previous one finished
+    // and an older snapshot can never replace a newer one.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final Map<UnitConversionGraph.Path, Timer> timers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        invalidationBus.subscribe(InvalidationTopic.UNITS, key -> reload());
+    }
 
     @Override
     public BigDecimal convert(BigDecimal quantity, Unit fromUnit, Unit toUnit) {
+        long start = System.nanoTime();
         if (!fromUnit.getCategory().equals(toUnit.getCategory())) {
             throw new IllegalArgumentException(
                 String.format("Cannot convert between different unit categories: %s to %s", 
@@ -31,46 +55,11 @@ public class UnitConversionServiceImpl implements UnitConversionService {
         }
         
         if (fromUnit.getId().equals(toUnit.getId())) {
+            timer(UnitConversionGraph.Path.IDENTITY).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return quantity;
         }
-        
-        return unitConversionRepository.findByFromUnitAndToUnit(fromUnit, toUnit)
-            .map(conversion -> {
-                System.err.println("Converting " + quantity + " from " + fromUnit.getCode() + " to " + toUnit.getCode() + ", factor: " + quantity.multiply(conversion.getFactor()).setScale(3, RoundingMode.HALF_UP));
-                return quantity.multiply(conversion.getFactor()).setScale(3, RoundingMode.HALF_UP);
-            })
-            .orElseGet(() -> {
-                Unit baseUnit = unitRepository.findByCategoryAndIsBaseUnit(fromUnit.getCategory(), true)
-                    .orElseThrow(() -> new IllegalArgumentException("No base unit found for category: " + fromUnit.getCategory()));
-                
-                BigDecimal inBaseUnit = convertToBase(quantity, fromUnit, baseUnit);
-                
-                return convertFromBase(inBaseUnit, baseUnit, toUnit);
-            });
-    }
-    
-    private BigDecimal convertToBase(BigDecimal quantity, Unit fromUnit, Unit baseUnit) {
-        if (fromUnit.getId().equals(baseUnit.getId())) {
-            return quantity;
-        }
-        
-        
-        return unitConversionRepository.findByFromUnitAndToUnit(fromUnit, baseUnit)
-            .map(conversion -> quantity.multiply(conversion.getFactor()))
-            .orElseThrow(() -> new IllegalArgumentException(
-                String.format("No conversion found from %s to base unit %s", fromUnit.getCode(), baseUnit.getCode())
-            ));
-    }
-    
-    private BigDecimal convertFromBase(BigDecimal quantity, Unit baseUnit, Unit toUnit) {
-        if (baseUnit.getId().equals(toUnit.getId())) {
-            return quantity;
-        }
-        UnitConversion conversion = unitConversionRepository.findByFromUnitAndToUnit(baseUnit, toUnit)
-            .orElseThrow(() -> new IllegalArgumentException(
-                String.format("No conversion found from base unit %s to %s", baseUnit.getCode(), toUnit.getCode())
-            ));
-        return quantity.multiply(conversion.getFactor()).setScale(2, RoundingMode.HALF_UP);
+
+        return convert(quantity, fromUnit.getId(), toUnit.getId());
     }
     
     @Override
@@ -81,11 +70,62 @@ public class UnitConversionServiceImpl implements UnitConversionService {
     
     @Override
     public BigDecimal convert(BigDecimal quantity, UUID fromUnitId, UUID toUnitId) {
-        Unit fromUnit = unitRepository.findById(fromUnitId)
-            .orElseThrow(() -> new IllegalArgumentException("From unit not found: " + fromUnitId));
-        Unit toUnit = unitRepository.findById(toUnitId)
-            .orElseThrow(() -> new IllegalArgumentException("To unit not found: " + toUnitId));
-        
-        return convert(quantity, fromUnit, toUnit);
+        long start = System.nanoTime();
+        // Unknown ids fail against the current graph; units are added to it through refresh().
+        UnitConversionGraph.Conversion conversion = currentGraph().conversion(fromUnitId, toUnitId);
+        BigDecimal converted = conversion.apply(quantity);
+        timer(conversion.path()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return converted;
+    }
+
+    @Override
+    public void refresh() {
+        invalidationBus.publish(InvalidationTopic.UNITS, null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+            return;
+        }
+        reload();
+    }
+
+    UnitConversionGraph currentGraph() {
+        UnitConversionGraph current = graph.get();
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            current = graph.get();
+            if (current == null) {
+                current = loadGraph();
+                graph.set(current);
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reload() {
+        reloadLock.lock();
+        try {
+            graph.set(loadGraph());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Timer timer(UnitConversionGraph.Path path) {
+        return timers.computeIfAbsent(path, p -> meterRegistry.timer("store.unit.conversion",
+                "path", p.name().toLowerCase(Locale.ROOT)));
+    }
+
+    private UnitConversionGraph loadGraph() {
+        return UnitConversionGraph.build(unitRepository.findAll(), unitConversionRepository.findAllWithUnits());
     }
 }
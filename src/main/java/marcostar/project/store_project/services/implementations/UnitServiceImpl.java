@@ -16,6 +16,7 @@ import marcostar.project.store_project.entities.UnitConversion;
 import marcostar.project.store_project.entities.enums.UnitCategory;
 import marcostar.project.store_project.repositories.UnitConversionRepository;
 import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.services.UnitConversionService;
 import marcostar.project.store_project.services.UnitService;
 
 @Service
@@ -23,6 +24,8 @@ import marcostar.project.store_project.services.UnitService;
 public class UnitServiceImpl implements UnitService{
     private final UnitRepository unitRepository;
     private final UnitConversionRepository unitConversionRepository;
+    private final UnitConversionService unitConversionService;
+    private final ProductCache productCache;
 
     @Override
     public List<UnitResponse> getAllUnits() {
@@ -38,6 +41,12 @@ public class UnitServiceImpl implements UnitService{
                 .toList();
     }
 
+    // Covers every unit, so it also serves the lists filtered by category.
+    @Override
+    public String getUnitsETag() {
+        return ETags.of(unitRepository.fingerprint());
+    }
+
     @Override
     public UnitResponse getUnitById(UUID id) {
         return unitRepository.findById(id)
@@ -64,6 +73,7 @@ public class UnitServiceImpl implements UnitService{
                 request.getIsBaseUnit()
         );
         Unit saved = unitRepository.save(unit);
+        unitConversionService.refresh();
         return toUnitResponse(saved);
     }
 
@@ -84,6 +94,8 @@ public class UnitServiceImpl implements UnitService{
         unit.setIsBaseUnit(request.getIsBaseUnit());
 
         Unit saved = unitRepository.save(unit);
+        unitConversionService.refresh();
+        productCache.evictAll();
         return toUnitResponse(saved);
     }
 
@@ -103,6 +115,8 @@ public class UnitServiceImpl implements UnitService{
             throw new IllegalArgumentException("Unit not found");
         }
         unitRepository.deleteById(id);
+        unitConversionService.refresh();
+        productCache.evictAll();
     }
 
     @Override
@@ -137,6 +151,7 @@ public class UnitServiceImpl implements UnitService{
 
         UnitConversion conversion = new UnitConversion(fromUnit, toUnit, request.getFactor());
         UnitConversion saved = unitConversionRepository.save(conversion);
+        unitConversionService.refresh();
         return toConversionResponse(saved);
     }
 
@@ -160,6 +175,7 @@ public class UnitServiceImpl implements UnitService{
         conversion.setFactor(request.getFactor());
 
         UnitConversion saved = unitConversionRepository.save(conversion);
+        unitConversionService.refresh();
         return toConversionResponse(saved);
     }
 
@@ -170,6 +186,7 @@ public class UnitServiceImpl implements UnitService{
             throw new IllegalArgumentException("Conversion not found");
         }
         unitConversionRepository.deleteById(id);
+        unitConversionService.refresh();
     }
 
     private UnitResponse toUnitResponse(Unit unit) {
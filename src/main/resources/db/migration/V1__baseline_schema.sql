@@ -0,0 +1,138 @@
+-- Schema as previously generated by ddl-auto=update. Databases created that way are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start at V2, so this file
+-- must not change: anything added since goes into a later version.
+
+create table units (
+    id uuid not null,
+    code varchar(255) not null,
+    name varchar(255) not null,
+    symbol varchar(255) not null,
+    category varchar(255) not null check (category in ('WEIGHT', 'VOLUME', 'QUANTITY')),
+    is_base_unit boolean not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_units primary key (id),
+    constraint uk_units_code unique (code)
+);
+
+create table unit_conversions (
+    id uuid not null,
+    from_unit_id uuid not null,
+    to_unit_id uuid not null,
+    factor numeric(20, 10) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_unit_conversions primary key (id),
+    constraint uk_unit_conversions_from_to unique (from_unit_id, to_unit_id),
+    constraint fk_unit_conversions_from_unit foreign key (from_unit_id) references units,
+    constraint fk_unit_conversions_to_unit foreign key (to_unit_id) references units
+);
+
+create table privilege (
+    id uuid not null,
+    name varchar(255) check (name in ('ACCESS_TO_DASHBOARD', 'CREATE_USER', 'READ_USER', 'SHOW_DETAIL_USER',
+        'UPDATE_USER', 'CHANGE_PASSWORD_USER', 'SUSPEND_USER', 'DELETE_USER', 'CREATE_ORGANIZATION_USER',
+        'READ_ORGANIZATION_USER', 'UPDATE_ORGANIZATION_USER', 'DELETE_ORGANIZATION_USER', 'CREATE_ROLE', 'READ_ROLE',
+        'UPDATE_ROLE', 'DELETE_ROLE', 'ASSIGN_ROLE_TO_USER', 'CREATE_PRIVILEGE', 'READ_PRIVILEGE', 'UPDATE_PRIVILEGE',
+        'DELETE_PRIVILEGE')),
+    category varchar(255),
+    description varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_privilege primary key (id)
+);
+
+create table roles (
+    id uuid not null,
+    name varchar(255),
+    description varchar(255),
+    type_role varchar(255) check (type_role in ('USER', 'ADMIN', 'SUPER_ADMIN')),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_roles primary key (id)
+);
+
+create table roles_privileges (
+    role_id uuid not null,
+    privilege_id uuid not null,
+    constraint pk_roles_privileges primary key (privilege_id, role_id),
+    constraint fk_roles_privileges_role foreign key (role_id) references roles,
+    constraint fk_roles_privileges_privilege foreign key (privilege_id) references privilege
+);
+
+create table users (
+    id uuid not null,
+    firstname varchar(255) not null,
+    lastname varchar(255) not null,
+    username varchar(255) not null,
+    email varchar(100) not null,
+    password varchar(255) not null,
+    role_id uuid not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint fk_users_role foreign key (role_id) references roles
+);
+
+create table products (
+    id uuid not null,
+    name varchar(255) not null,
+    description varchar(1000),
+    price numeric(12, 2) not null,
+    stock numeric(18, 3) not null,
+    unit_id uuid not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_products primary key (id),
+    constraint fk_products_unit foreign key (unit_id) references units
+);
+
+create table stock_movements (
+    id uuid not null,
+    product_id uuid not null,
+    quantity numeric(18, 3) not null,
+    type smallint check (type between 0 and 1),
+    unit_id uuid not null,
+    reason varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_stock_movements primary key (id),
+    constraint fk_stock_movements_product foreign key (product_id) references products,
+    constraint fk_stock_movements_unit foreign key (unit_id) references units
+);
+
+create table orders (
+    id uuid not null,
+    order_number varchar(255) not null,
+    user_id uuid not null,
+    status varchar(255) check (status in ('PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELED')),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_orders primary key (id),
+    constraint uk_orders_order_number unique (order_number),
+    constraint fk_orders_user foreign key (user_id) references users
+);
+
+create table order_items (
+    id uuid not null,
+    order_id uuid not null,
+    product_id uuid not null,
+    quantity numeric(18, 3) not null,
+    unit_price numeric(38, 2),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_order_items primary key (id),
+    constraint fk_order_items_order foreign key (order_id) references orders,
+    constraint fk_order_items_product foreign key (product_id) references products
+);
+
+create table blacklisted_tokens (
+    id uuid not null,
+    token varchar(1000) not null,
+    expires_at timestamp(6) with time zone,
+    created_at timestamp(6) with time zone,
+    constraint pk_blacklisted_tokens primary key (id),
+    constraint uk_blacklisted_tokens_token unique (token)
+);
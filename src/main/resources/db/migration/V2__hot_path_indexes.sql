@@ -0,0 +1,33 @@
+-- Indexes for the foreign keys and paging queries the services run on every request.
+-- "if not exists" because baselined databases may already have some of them.
+
+-- Keyset paging of the order list, a user's orders and the movement export (created_at, id).
+create index if not exists idx_orders_created_at_id on orders (created_at, id);
+create index if not exists idx_orders_user_created_at_id on orders (user_id, created_at, id);
+create index if not exists idx_stock_movements_created_at_id on stock_movements (created_at, id);
+
+-- Movement history of one product, newest first (StockMovementRepository.findByProductId).
+create index if not exists idx_stock_movements_product_created_at_id
+    on stock_movements (product_id, created_at, id);
+
+-- Items of a page of orders (OrderRepository.findAllWithItemsByIdIn) and product deletion checks.
+create index if not exists idx_order_items_order_id on order_items (order_id);
+create index if not exists idx_order_items_product_id on order_items (product_id);
+
+-- Orders of a user are served by idx_orders_user_created_at_id; the remaining foreign keys
+-- only need an index so that deleting the parent row does not scan the child table.
+create index if not exists idx_products_unit_id on products (unit_id);
+create index if not exists idx_users_role_id on users (role_id);
+create index if not exists idx_roles_privileges_role_id on roles_privileges (role_id);
+create index if not exists idx_unit_conversions_to_unit_id on unit_conversions (to_unit_id);
+create index if not exists idx_stock_movements_unit_id on stock_movements (unit_id);
+
+-- Expired revocations deleted by TokenBlacklistService.sweepExpired.
+create index if not exists idx_blacklisted_tokens_expires_at on blacklisted_tokens (expires_at);
+
+-- Increment must equal store.order-number.block-size (checked at startup): each nextval reserves a block.
+create sequence if not exists order_number_seq start with 1 increment by 100;
+
+-- ddl-auto never widened the check generated when MovementType only had IN and OUT.
+alter table stock_movements drop constraint if exists stock_movements_type_check;
+alter table stock_movements add constraint stock_movements_type_check check (type between 0 and 2);
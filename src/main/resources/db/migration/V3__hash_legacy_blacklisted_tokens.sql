@@ -0,0 +1,21 @@
+-- The V1 table stores the raw token. Add token_digest, hash the existing rows the same way as
+-- JwtService.digest (Base64 of SHA-256) and drop the raw column.
+alter table blacklisted_tokens add column if not exists token_digest varchar(44);
+
+do $$
+begin
+    if exists (select 1 from information_schema.columns
+               where table_name = 'blacklisted_tokens' and column_name = 'token') then
+        update blacklisted_tokens
+            set token_digest = encode(sha256(convert_to(token, 'UTF8')), 'base64')
+            where token_digest is null;
+        alter table blacklisted_tokens drop column token;
+        alter table blacklisted_tokens alter column token_digest set not null;
+        if not exists (select 1 from pg_indexes
+                       where tablename = 'blacklisted_tokens' and indexdef like '%(token_digest)%') then
+            alter table blacklisted_tokens
+                add constraint uk_blacklisted_tokens_token_digest unique (token_digest);
+        end if;
+    end if;
+end
+$$;
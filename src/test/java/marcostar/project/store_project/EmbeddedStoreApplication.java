@@ -0,0 +1,158 @@
+package marcostar.project.store_project;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import marcostar.project.store_project.config.security.JwtService;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.entities.enums.TypeRole;
+import marcostar.project.store_project.repositories.RoleRepository;
+import marcostar.project.store_project.repositories.UserRepository;
+
+/**
+ * Runs the application against an embedded Postgres for the integration tests of one class.
+ * <p>
+ * The Postgres server is started once per test run and closed when the run ends. Each test class
+ * gets its own database, so data written by one class is never seen by another, and its own
+ * application context started with the class's property overrides. An admin user is created in
+ * that database; {@link #request(String)} sends its token.
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * static final EmbeddedStoreApplication app = new EmbeddedStoreApplication("--store.product-import.batch-size=2");
+ * </pre>
+ */
+public class EmbeddedStoreApplication implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(EmbeddedStoreApplication.class);
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private final String[] properties;
+    private final List<String> setup = new ArrayList<>();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String jdbcUrl;
+    private String baseUrl;
+    private String token;
+
+    public EmbeddedStoreApplication(String... properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * SQL run on the new database before the application starts, e.g. to reproduce a schema
+     * that predates the migrations.
+     */
+    public EmbeddedStoreApplication preparedWith(String... sql) {
+        setup.addAll(List.of(sql));
+        return this;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext extensionContext) throws SQLException {
+        EmbeddedPostgres postgres = extensionContext.getRoot().getStore(NAMESPACE)
+                .computeIfAbsent(EmbeddedPostgres.class, key -> startPostgres(), EmbeddedPostgres.class);
+        String database = "store_test_" + DATABASES.incrementAndGet();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("create database " + database);
+        }
+        jdbcUrl = postgres.getJdbcUrl("postgres", database);
+        try (Connection connection = postgres.getDatabase("postgres", database).getConnection();
+                Statement statement = connection.createStatement()) {
+            for (String sql : setup) {
+                statement.execute(sql);
+            }
+        }
+
+        ConfigurableApplicationContext context = startNode();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        User admin = context.getBean(UserRepository.class).save(User.builder()
+                .username("it-admin")
+                .firstname("Integration")
+                .lastname("Admin")
+                .email("it-admin@example.com")
+                .password("secret")
+                .role(context.getBean(RoleRepository.class).findByTypeRole(TypeRole.ADMIN).orElseThrow())
+                .build());
+        token = context.getBean(JwtService.class).generateToken(admin);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext extensionContext) {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+        nodes.clear();
+    }
+
+    /**
+     * Starts another application node on the same database, closed with the first one. Used to
+     * check what one node sees of the writes of another.
+     */
+    public ConfigurableApplicationContext startNode() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--jwt.secret=integration-test-secret-integration-test-secret",
+                "--spring.devtools.restart.enabled=false"));
+        args.addAll(List.of(properties));
+        ConfigurableApplicationContext node = new SpringApplicationBuilder(StoreProjectApplication.class)
+                .run(args.toArray(String[]::new));
+        nodes.add(node);
+        return node;
+    }
+
+    public ConfigurableApplicationContext context() {
+        return nodes.get(0);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context().getBean(type);
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /** A request to the first node, authenticated as the admin user. */
+    public HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build());
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
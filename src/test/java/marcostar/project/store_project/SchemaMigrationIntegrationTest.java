@@ -0,0 +1,84 @@
+package marcostar.project.store_project;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import marcostar.project.store_project.config.security.TokenBlacklistService;
+
+/**
+ * Starts the application on a database left by {@code ddl-auto=update} (the V1 schema without
+ * Flyway history) and checks that it is baselined, migrated and accepted by Hibernate validation.
+ */
+@DisplayName("Schema Migration Integration Tests")
+class SchemaMigrationIntegrationTest {
+
+    private static final String LEGACY_TOKEN = "legacy.raw.token";
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication().preparedWith(
+            legacySchema(),
+            "insert into blacklisted_tokens (id, token, expires_at, created_at) values "
+                    + "(gen_random_uuid(), '" + LEGACY_TOKEN + "', now() + interval '1 hour', now())");
+
+    @Test
+    @DisplayName("Should baseline a ddl-auto database at V1 and apply the later versions")
+    void testBaselineThenMigrate() {
+        List<String> applied = jdbc().queryForList(
+                "select version || ':' || type from flyway_schema_history order by installed_rank", String.class);
+
+        assertEquals(List.of("1:BASELINE", "2:SQL", "3:SQL"), applied);
+    }
+
+    @Test
+    @DisplayName("Should create the order number sequence with the configured block size")
+    void testOrderNumberSequence() {
+        Long increment = jdbc().queryForObject(
+                "select increment_by from pg_sequences where sequencename = 'order_number_seq'", Long.class);
+
+        assertEquals(100L, increment);
+    }
+
+    @Test
+    @DisplayName("Should keep tokens revoked before the digest column existed")
+    void testLegacyTokenHashed() {
+        Integer rawColumns = jdbc().queryForObject(
+                "select count(*) from information_schema.columns "
+                        + "where table_name = 'blacklisted_tokens' and column_name = 'token'", Integer.class);
+
+        assertEquals(0, rawColumns);
+        assertTrue(app.bean(TokenBlacklistService.class).isBlacklisted(LEGACY_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should accept ADJUSTMENT movements on the widened type check")
+    void testMovementTypeCheck() {
+        String check = jdbc().queryForObject(
+                "select pg_get_constraintdef(oid) from pg_constraint where conname = 'stock_movements_type_check'",
+                String.class);
+
+        assertTrue(check.contains("2"), check);
+    }
+
+    private static JdbcTemplate jdbc() {
+        return app.bean(JdbcTemplate.class);
+    }
+
+    private static String legacySchema() {
+        try {
+            return new ClassPathResource("db/migration/V1__baseline_schema.sql")
+                    .getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
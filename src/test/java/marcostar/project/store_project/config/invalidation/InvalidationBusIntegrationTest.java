@@ -0,0 +1,125 @@
+package marcostar.project.store_project.config.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.config.security.CustomUserDetailsService;
+import marcostar.project.store_project.config.security.JwtService;
+import marcostar.project.store_project.config.security.TokenBlacklistService;
+import marcostar.project.store_project.dtos.unit.UnitRequest;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.entities.enums.TypeRole;
+import marcostar.project.store_project.entities.enums.UnitCategory;
+import marcostar.project.store_project.repositories.BlacklistedTokenRepository;
+import marcostar.project.store_project.repositories.RoleRepository;
+import marcostar.project.store_project.repositories.UserRepository;
+import marcostar.project.store_project.services.UnitConversionService;
+import marcostar.project.store_project.services.UnitService;
+import marcostar.project.store_project.services.implementations.UnitConversionGraph;
+
+/**
+ * Boots two application nodes against one embedded Postgres and checks that writes on one
+ * node invalidate the in-process caches of the other.
+ */
+@DisplayName("InvalidationBus Integration Tests")
+class InvalidationBusIntegrationTest {
+
+    private static final long PROPAGATION_TIMEOUT_MS = 5_000;
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication();
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = app.context();
+        nodeB = app.startNode();
+    }
+
+    @Test
+    @DisplayName("Should revoke a token on every node")
+    void testRevokedTokenPropagates() {
+        String token = nodeA.getBean(JwtService.class)
+                .generateToken(User.builder().username("revoked-user").build());
+        TokenBlacklistService blacklistB = nodeB.getBean(TokenBlacklistService.class);
+        assertFalse(blacklistB.isBlacklisted(token));
+
+        nodeA.getBean(TokenBlacklistService.class).blacklist(token);
+
+        awaitPropagation(() -> blacklistB.isBlacklisted(token));
+        // A concurrent revocation of the same token on another node leaves the first row alone.
+        BlacklistedTokenRepository repository = nodeB.getBean(BlacklistedTokenRepository.class);
+        String digest = repository.findAll().get(0).getTokenDigest();
+        assertEquals(0, repository.insertIfAbsent(UUID.randomUUID(), digest, Instant.now()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the unit graph on every node")
+    void testUnitChangePropagates() {
+        UnitConversionService conversionB = nodeB.getBean(UnitConversionService.class);
+        assertTrue(currentGraph(conversionB).findByCode("BUS_TEST_UNIT").isEmpty());
+
+        UnitRequest request = new UnitRequest();
+        request.setCode("BUS_TEST_UNIT");
+        request.setName("Bus test unit");
+        request.setSymbol("btu");
+        request.setCategory(UnitCategory.WEIGHT);
+        nodeA.getBean(UnitService.class).createUnit(request);
+
+        awaitPropagation(() -> currentGraph(conversionB).findByCode("BUS_TEST_UNIT").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict an updated user on every node")
+    void testPrincipalChangePropagates() {
+        UserRepository usersA = nodeA.getBean(UserRepository.class);
+        User user = usersA.save(User.builder()
+                .username("bus-user")
+                .firstname("Before")
+                .lastname("Test")
+                .email("bus-user@example.com")
+                .password("secret")
+                .role(nodeA.getBean(RoleRepository.class).findByTypeRole(TypeRole.USER).orElseThrow())
+                .build());
+        CustomUserDetailsService principalsB = nodeB.getBean(CustomUserDetailsService.class);
+        assertEquals("Before", ((User) principalsB.loadUserByUsername("bus-user")).getFirstname());
+
+        user.setFirstname("After");
+        usersA.save(user);
+
+        awaitPropagation(() -> "After".equals(((User) principalsB.loadUserByUsername("bus-user")).getFirstname()));
+    }
+
+    private static UnitConversionGraph currentGraph(UnitConversionService service) {
+        return ReflectionTestUtils.invokeMethod(service, "currentGraph");
+    }
+
+    private static void awaitPropagation(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + PROPAGATION_TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Invalidation not applied within " + PROPAGATION_TIMEOUT_MS + " ms");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for invalidation");
+            }
+        }
+    }
+}
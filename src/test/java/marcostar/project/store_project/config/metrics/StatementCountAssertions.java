@@ -0,0 +1,43 @@
+package marcostar.project.store_project.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.http.HttpResponse;
+import java.util.function.Supplier;
+
+/**
+ * Pins the number of SQL statements an operation issues, so N+1 regressions fail a test instead
+ * of surfacing in production.
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    /**
+     * Runs {@code action} on the current thread and asserts it issued exactly {@code expected}
+     * statements.
+     */
+    public static <T> T assertStatementCount(int expected, Supplier<T> action) {
+        StatementCounter.begin();
+        T result;
+        int actual;
+        try {
+            result = action.get();
+        } finally {
+            actual = StatementCounter.end();
+        }
+        assertEquals(expected, actual, "SQL statements issued");
+        return result;
+    }
+
+    /**
+     * Asserts the count reported by {@link StatementCountFilter#HEADER} on a real HTTP response.
+     */
+    public static void assertStatementCount(int expected, HttpResponse<?> response) {
+        String header = response.headers().firstValue(StatementCountFilter.HEADER)
+                .orElseGet(() -> fail("Missing " + StatementCountFilter.HEADER + " header"));
+        assertEquals(expected, Integer.parseInt(header),
+                "SQL statements issued by " + response.request().method() + " " + response.request().uri().getPath());
+    }
+}
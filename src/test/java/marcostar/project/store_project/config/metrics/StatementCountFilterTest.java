@@ -0,0 +1,87 @@
+package marcostar.project.store_project.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+
+@DisplayName("StatementCountFilter Unit Tests")
+class StatementCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementCountFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementCountFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "budget", 2);
+        ReflectionTestUtils.setField(filter, "exposeHeader", true);
+    }
+
+    private FilterChain chain(int statements, boolean writeBody) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products");
+            for (int i = 0; i < statements; i++) {
+                StatementCounter.increment();
+            }
+            if (writeBody) {
+                response.getWriter().write("[]");
+                response.flushBuffer();
+                StatementCounter.increment();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should report the statement count in a header and a summary")
+    void testCountsStatements() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain(3, false));
+
+        assertEquals("3", response.getHeader(StatementCountFilter.HEADER));
+        assertEquals(3.0, meterRegistry.get(StatementCountFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/products").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should write the header before the body commits the response")
+    void testHeaderBeforeCommit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain(1, true));
+
+        assertEquals("1", response.getHeader(StatementCountFilter.HEADER));
+        assertEquals(2.0, meterRegistry.get(StatementCountFilter.METRIC_NAME).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should not expose the header unless enabled")
+    void testNoHeaderByDefault() throws Exception {
+        ReflectionTestUtils.setField(filter, "exposeHeader", false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain(1, false));
+
+        assertNull(response.getHeader(StatementCountFilter.HEADER));
+        assertEquals(1, meterRegistry.get(StatementCountFilter.METRIC_NAME).summary().count());
+    }
+
+    @Test
+    @DisplayName("Should ignore statements issued outside a request")
+    void testOutsideRequest() {
+        StatementCounter.increment();
+
+        assertEquals(0, StatementCounter.current());
+    }
+}
@@ -0,0 +1,137 @@
+package marcostar.project.store_project.config.metrics;
+
+import static marcostar.project.store_project.config.metrics.StatementCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.services.ProductService;
+import marcostar.project.store_project.services.implementations.ProductCache;
+import marcostar.project.store_project.services.implementations.ProductSearchIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Pins the SQL statement count of read endpoints against an embedded Postgres. Each request is
+ * sent twice so the principal cache is warm and only the endpoint's own queries are counted; the
+ * product cache is cleared in between unless the test measures a cached read.
+ */
+@DisplayName("Statement count Integration Tests")
+class StatementCountIntegrationTest {
+
+    private static final int PRODUCTS = 25;
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication("--spring.profiles.active=dev");
+
+    @BeforeAll
+    static void createProducts() {
+        Unit unit = app.bean(UnitRepository.class).findAll().get(0);
+        ProductRepository products = app.bean(ProductRepository.class);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.save(Product.builder()
+                    .name("Statement product " + i)
+                    .price(BigDecimal.TEN)
+                    .stock(BigDecimal.valueOf(100))
+                    .unit(unit)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/products should not issue a query per product")
+    void testListProducts() throws Exception {
+        HttpResponse<String> response = get("/api/products?size=" + PRODUCTS);
+
+        assertEquals(200, response.statusCode());
+        assertStatementCount(2, response);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should load the product with its unit in one query")
+    void testGetProduct() throws Exception {
+        Product product = app.bean(ProductRepository.class).findAll().get(0);
+
+        HttpResponse<String> response = get("/api/products/" + product.getId());
+
+        assertEquals(200, response.statusCode());
+        assertStatementCount(1, response);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search should rank from memory and load the hits in one query")
+    void testSearchProducts() throws Exception {
+        // Products were saved straight through the repository, after the startup build.
+        app.bean(ProductSearchIndex.class).rebuild();
+
+        HttpResponse<String> response = get("/api/products/search?q=statment+product&size=" + PRODUCTS);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"totalElements\":" + PRODUCTS));
+        assertStatementCount(1, response);
+    }
+
+    @Test
+    @DisplayName("Cached product reads should not reach the database")
+    void testCachedProductReads() throws Exception {
+        Product product = app.bean(ProductRepository.class).findAll().get(0);
+
+        HttpResponse<String> list = get("/api/products?size=" + PRODUCTS, false);
+        HttpResponse<String> single = get("/api/products/" + product.getId(), false);
+
+        assertEquals(200, list.statusCode());
+        assertStatementCount(0, list);
+        assertEquals(200, single.statusCode());
+        assertStatementCount(0, single);
+    }
+
+    @Test
+    @DisplayName("Should count statements issued directly on the calling thread")
+    void testServiceCall() {
+        ProductService productService = app.bean(ProductService.class);
+        app.bean(ProductCache.class).evictAll();
+
+        assertStatementCount(2, () -> productService.getAll(PageRequest.of(0, PRODUCTS)));
+    }
+
+    @Test
+    @DisplayName("Should count JdbcTemplate statements, a batch as one")
+    void testJdbcTemplateCall() {
+        JdbcTemplate jdbcTemplate = app.bean(JdbcTemplate.class);
+        List<Object[]> ids = app.bean(ProductRepository.class).findAll().stream()
+                .limit(3)
+                .map(product -> new Object[] { product.getId() })
+                .toList();
+
+        assertStatementCount(2, () -> {
+            jdbcTemplate.queryForObject("select count(*) from products", Long.class);
+            return jdbcTemplate.batchUpdate("update products set description = description where id = ?", ids);
+        });
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return get(path, true);
+    }
+
+    private static HttpResponse<String> get(String path, boolean coldProductCache) throws Exception {
+        HttpRequest request = app.request(path).GET().build();
+        app.send(request);
+        if (coldProductCache) {
+            app.bean(ProductCache.class).evictAll();
+        }
+        return app.send(request);
+    }
+}
@@ -0,0 +1,95 @@
+package marcostar.project.store_project.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StatementCountingDataSource Unit Tests")
+class StatementCountingDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement prepared = mock(PreparedStatement.class);
+    private final Statement statement = mock(Statement.class);
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(target);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementCounter.end();
+    }
+
+    @Test
+    @DisplayName("Should count each execution, whatever created the statement")
+    void testCountsExecutions() throws SQLException {
+        StatementCounter.begin();
+
+        try (Connection counted = dataSource.getConnection()) {
+            PreparedStatement select = counted.prepareStatement("select 1");
+            select.executeQuery();
+            select.executeQuery();
+            counted.createStatement().execute("select pg_notify('topic', 'key')");
+        }
+
+        assertEquals(3, StatementCounter.current());
+        verify(prepared, times(2)).executeQuery();
+        verify(statement).execute("select pg_notify('topic', 'key')");
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should count a JDBC batch once")
+    void testCountsBatchOnce() throws SQLException {
+        StatementCounter.begin();
+
+        try (Connection counted = dataSource.getConnection()) {
+            PreparedStatement insert = counted.prepareStatement("insert into t values (?)");
+            for (int i = 0; i < 3; i++) {
+                insert.setInt(1, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        assertEquals(1, StatementCounter.current());
+    }
+
+    @Test
+    @DisplayName("Should keep connection identity and pass through other calls")
+    void testConnectionProxy() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+        Connection counted = dataSource.getConnection();
+
+        assertEquals(counted, counted);
+        assertNotEquals(counted, dataSource.getConnection());
+        assertFalse(counted.getAutoCommit());
+        assertEquals(0, StatementCounter.current());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the driver's exception unchanged")
+    void testRethrowsSqlException() throws SQLException {
+        SQLException failure = new SQLException("boom", "40001");
+        when(prepared.executeUpdate()).thenThrow(failure);
+        PreparedStatement update = dataSource.getConnection().prepareStatement("update t set x = 1");
+
+        assertSame(failure, assertThrows(SQLException.class, update::executeUpdate));
+    }
+}
@@ -0,0 +1,152 @@
+package marcostar.project.store_project.config.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.repositories.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService Unit Tests")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService userDetailsService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new CustomUserDetailsService(userRepository, meterRegistry, invalidationBus);
+        ReflectionTestUtils.setField(userDetailsService, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "ttl", Duration.ofMinutes(5));
+        userDetailsService.init();
+
+        testUser = User.builder().id(UUID.randomUUID()).username("testuser").build();
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve later requests from the cache")
+    void testLoadIsCached() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertSame(testUser, userDetailsService.loadUserByUsername("testuser"));
+        assertSame(testUser, userDetailsService.loadUserByUsername("testuser"));
+        assertSame(testUser, userDetailsService.loadUserByUsername("testuser"));
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertEquals(2, userDetailsService.stats().hitCount());
+        assertEquals(1, userDetailsService.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent misses on the same username")
+    void testConcurrentMissesLoadOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("testuser")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(testUser);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<UserDetails> first = executor.submit(() -> userDetailsService.loadUserByUsername("testuser"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<UserDetails>> waiting = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(executor.submit(() -> userDetailsService.loadUserByUsername("testuser")));
+            }
+
+            release.countDown();
+
+            assertSame(testUser, first.get(5, TimeUnit.SECONDS));
+            for (Future<UserDetails> future : waiting) {
+                assertSame(testUser, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown usernames")
+    void testUnknownUserNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("Should reload a user after eviction")
+    void testEvictByUsername() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        userDetailsService.evict("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should drop entries cached under a previous username")
+    void testEvictRenamedUser() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        User renamed = User.builder().id(testUser.getId()).username("renamed").build();
+        userDetailsService.evict(renamed);
+        userDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counts to the meter registry")
+    void testMetricsRegistered() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", CustomUserDetailsService.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", CustomUserDetailsService.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+    }
+}
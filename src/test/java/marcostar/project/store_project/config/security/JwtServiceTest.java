@@ -0,0 +1,99 @@
+package marcostar.project.store_project.config.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import marcostar.project.store_project.entities.User;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+    private JwtService jwtService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100L);
+        jwtService.init();
+
+        testUser = User.builder().username("testuser").build();
+    }
+
+    @Test
+    @DisplayName("Should validate a freshly generated token")
+    void testGenerateAndValidate() {
+        String token = jwtService.generateToken(testUser);
+
+        Claims claims = jwtService.parseClaims(token);
+
+        assertEquals("testuser", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, testUser));
+        assertEquals("testuser", jwtService.extractUsername(token));
+    }
+
+    @Test
+    @DisplayName("Should return the cached claims for repeated parses")
+    void testParseIsCached() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        Claims first = jwtService.parseClaims(token);
+        Claims second = jwtService.parseClaims(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key")
+    void testRejectForeignSignature() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another-secret".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(SignatureException.class, () -> jwtService.parseClaims(token));
+        assertThrows(SignatureException.class, () -> jwtService.parseClaims(token));
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void testRejectExpiredToken() {
+        String token = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseClaims(token));
+    }
+
+    @Test
+    @DisplayName("Should not accept a token for a different user")
+    void testTokenForOtherUser() {
+        String token = jwtService.generateToken(testUser);
+        User other = User.builder().username("other").build();
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+}
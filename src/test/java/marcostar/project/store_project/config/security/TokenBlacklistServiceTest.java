@@ -0,0 +1,160 @@
+package marcostar.project.store_project.config.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationListener;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.entities.BlacklistedToken;
+import marcostar.project.store_project.repositories.BlacklistedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklistService Unit Tests")
+class TokenBlacklistServiceTest {
+
+    @Mock
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TokenBlacklistService tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenBlacklistService, "expectedSize", 1000L);
+    }
+
+    @Test
+    @DisplayName("Should load active entries at startup and answer from memory")
+    void testLoadFromDatabase() {
+        String revoked = "revoked.token.value";
+        when(blacklistedTokenRepository.findAllActive(any())).thenReturn(List.of(
+                new BlacklistedToken(JwtService.digest(revoked), Instant.now().plus(1, ChronoUnit.HOURS))));
+
+        tokenBlacklistService.load();
+
+        assertTrue(tokenBlacklistService.isBlacklisted(revoked));
+        assertFalse(tokenBlacklistService.isBlacklisted("other.token.value"));
+        assertEquals(1, meterRegistry.get("store.security.blacklist.check").tag("result", "revoked").timer().count());
+        verify(blacklistedTokenRepository, times(1)).findAllActive(any());
+        verifyNoMoreInteractions(blacklistedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should store only the token digest when blacklisting")
+    void testBlacklistStoresDigest() {
+        String token = "header.payload.signature";
+        when(blacklistedTokenRepository.findAllActive(any())).thenReturn(List.of());
+        when(jwtService.extractExpiration(token)).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        tokenBlacklistService.load();
+
+        tokenBlacklistService.blacklist(token);
+        tokenBlacklistService.blacklist(token);
+
+        verify(blacklistedTokenRepository, times(1)).insertIfAbsent(any(), eq(JwtService.digest(token)), any());
+        assertTrue(tokenBlacklistService.isBlacklisted(token));
+        verify(invalidationBus, times(1)).publish(eq(InvalidationTopic.REVOKED_TOKEN),
+                startsWith(JwtService.digest(token) + ":"));
+    }
+
+    @Test
+    @DisplayName("Should apply tokens revoked on another node")
+    void testRemoteRevocation() {
+        String token = "remote.token.value";
+        when(blacklistedTokenRepository.findAllActive(any())).thenReturn(List.of());
+        tokenBlacklistService.init();
+        ArgumentCaptor<InvalidationListener> listener = ArgumentCaptor.forClass(InvalidationListener.class);
+        verify(invalidationBus).subscribe(eq(InvalidationTopic.REVOKED_TOKEN), listener.capture());
+
+        listener.getValue().onInvalidation(
+                JwtService.digest(token) + ":" + Instant.now().plus(1, ChronoUnit.HOURS).toEpochMilli());
+
+        assertTrue(tokenBlacklistService.isBlacklisted(token));
+    }
+
+    @Test
+    @DisplayName("Should keep answering from the previous entries while a reload is running")
+    void testReloadSwapsEntries() {
+        String revoked = "revoked.token.value";
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        when(blacklistedTokenRepository.findAllActive(any()))
+                .thenReturn(List.of(new BlacklistedToken(JwtService.digest(revoked), expiresAt)))
+                .thenAnswer(invocation -> {
+                    assertTrue(tokenBlacklistService.isBlacklisted(revoked));
+                    return List.of(new BlacklistedToken(JwtService.digest(revoked), expiresAt));
+                });
+        tokenBlacklistService.load();
+
+        tokenBlacklistService.load();
+
+        assertTrue(tokenBlacklistService.isBlacklisted(revoked));
+        verify(blacklistedTokenRepository, times(2)).findAllActive(any());
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries on sweep")
+    void testSweepExpired() {
+        String expired = "expired.token.value";
+        String active = "active.token.value";
+        when(blacklistedTokenRepository.findAllActive(any())).thenReturn(List.of());
+        when(jwtService.extractExpiration(expired)).thenReturn(new Date(System.currentTimeMillis() - 1_000));
+        when(jwtService.extractExpiration(active)).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(blacklistedTokenRepository.deleteExpired(any())).thenReturn(1);
+        tokenBlacklistService.load();
+        tokenBlacklistService.blacklist(expired);
+        tokenBlacklistService.blacklist(active);
+
+        assertEquals(1, tokenBlacklistService.sweepExpired());
+
+        assertEquals(1, tokenBlacklistService.size());
+        assertFalse(tokenBlacklistService.isBlacklisted(expired));
+        assertTrue(tokenBlacklistService.isBlacklisted(active));
+    }
+
+    @Test
+    @DisplayName("Should keep the Bloom filter false-positive rate near its target")
+    void testBloomFilterFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(JwtService.digest("revoked-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(JwtService.digest("revoked-" + i)));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(JwtService.digest("valid-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
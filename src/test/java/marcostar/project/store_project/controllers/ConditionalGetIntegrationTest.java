@@ -0,0 +1,154 @@
+package marcostar.project.store_project.controllers;
+
+import static marcostar.project.store_project.config.metrics.StatementCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+
+/**
+ * Sends {@code If-None-Match} to the polled read endpoints against an embedded Postgres and checks
+ * that the tag holds until the data behind it changes.
+ */
+@DisplayName("Conditional GET Integration Tests")
+class ConditionalGetIntegrationTest {
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication("--spring.profiles.active=dev");
+
+    private static Unit unit;
+    private static Product product;
+
+    @BeforeAll
+    static void createProduct() {
+        unit = app.bean(UnitRepository.class).findAll().get(0);
+        product = app.bean(ProductRepository.class).save(Product.builder()
+                .name("ETag product")
+                .price(BigDecimal.TEN)
+                .stock(BigDecimal.valueOf(100))
+                .unit(unit)
+                .build());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should answer 304 from the cache until the product changes")
+    void testProductETag() throws Exception {
+        String path = "/api/products/" + product.getId();
+        String etag = etagOf(get(path, null));
+
+        HttpResponse<String> notModified = get(path, etag);
+
+        assertEquals(304, notModified.statusCode());
+        assertEquals("", notModified.body());
+        assertEquals(etag, etagOf(notModified));
+        assertStatementCount(0, notModified);
+
+        assertEquals(200, send("PUT", path, """
+                {"name":"ETag product","price":12.5,"unitId":"%s"}""".formatted(unit.getId())).statusCode());
+        HttpResponse<String> modified = get(path, etag);
+
+        assertEquals(200, modified.statusCode());
+        assertTrue(modified.body().contains("\"price\":12.5"));
+        assertNotEquals(etag, etagOf(modified));
+    }
+
+    @Test
+    @DisplayName("GET /api/units should answer 304 until a unit changes")
+    void testUnitsETag() throws Exception {
+        String etag = etagOf(get("/api/units", null));
+        String productPath = "/api/products/" + product.getId();
+        String productETag = etagOf(get(productPath, null));
+
+        assertEquals(304, get("/api/units", etag).statusCode());
+        assertEquals(304, get("/api/units?category=" + unit.getCategory(), etag).statusCode());
+
+        assertEquals(200, send("PUT", "/api/units/" + unit.getId(), """
+                {"code":"%s","name":"%s renamed","symbol":"%s","category":"%s","isBaseUnit":%s}""".formatted(
+                unit.getCode(), unit.getName(), unit.getSymbol(), unit.getCategory(), unit.getIsBaseUnit())).statusCode());
+
+        assertEquals(200, get("/api/units", etag).statusCode());
+        // Product responses embed the unit, so their tag moves with it.
+        assertEquals(200, get(productPath, productETag).statusCode());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/my-orders should answer 304 until one of the user's orders changes")
+    void testMyOrdersETag() throws Exception {
+        HttpResponse<String> created = send("POST", "/api/orders", orderBody(1));
+        assertEquals(200, created.statusCode());
+        Matcher orderId = ORDER_ID.matcher(created.body());
+        assertTrue(orderId.find());
+        String etag = etagOf(get("/api/orders/my-orders", null));
+
+        assertEquals(304, get("/api/orders/my-orders", etag).statusCode());
+        assertEquals(304, get("/api/orders/my-orders?page=1", etag).statusCode());
+
+        // Only a line changes, which leaves the order row itself untouched by Hibernate.
+        assertEquals(200, send("PUT", "/api/orders/" + orderId.group(1), orderBody(2)).statusCode());
+
+        HttpResponse<String> modified = get("/api/orders/my-orders", etag);
+        assertEquals(200, modified.statusCode());
+        assertNotEquals(etag, etagOf(modified));
+
+        // The lines embed the product name, so renaming the product changes the tag as well.
+        String lineETag = etagOf(modified);
+        assertEquals(200, send("PUT", "/api/products/" + product.getId(), """
+                {"name":"ETag product renamed","price":12.5,"unitId":"%s"}""".formatted(unit.getId())).statusCode());
+
+        HttpResponse<String> renamed = get("/api/orders/my-orders", lineETag);
+        assertEquals(200, renamed.statusCode());
+        assertTrue(renamed.body().contains("ETag product renamed"));
+
+        // Stock changes touch products.updated_at but nothing shown on the orders.
+        String renamedETag = etagOf(renamed);
+        assertEquals(200, send("POST", "/api/products/adjust", """
+                {"productIds":["%s"],"stockDelta":5,"stockChangeReason":"Recount"}""".formatted(product.getId()))
+                .statusCode());
+
+        assertEquals(304, get("/api/orders/my-orders", renamedETag).statusCode());
+    }
+
+    private static String orderBody(int quantity) {
+        return """
+                {"items":[{"productId":"%s","unitId":"%s","quantity":%d}]}""".formatted(
+                product.getId(), unit.getId(), quantity);
+    }
+
+    private static String etagOf(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag").orElseGet(() -> fail("Missing ETag header"));
+    }
+
+    // Sent twice so the principal cache is warm and only the endpoint's own queries are counted.
+    private static HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder builder = app.request(path).GET();
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        HttpRequest request = builder.build();
+        app.send(request);
+        return app.send(request);
+    }
+
+    private static HttpResponse<String> send(String method, String path, String json) throws Exception {
+        return app.send(app.request(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+}
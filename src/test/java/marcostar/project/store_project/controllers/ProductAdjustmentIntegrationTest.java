@@ -0,0 +1,129 @@
+package marcostar.project.store_project.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+
+/**
+ * Sends bulk price and stock adjustments to {@code POST /api/products/adjust} against an embedded
+ * Postgres. Each test works on its own products, selected by a name prefix or by id.
+ */
+@DisplayName("Product Adjustment Integration Tests")
+class ProductAdjustmentIntegrationTest {
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication();
+
+    private static JdbcTemplate jdbcTemplate;
+    private static Unit unit;
+
+    @BeforeAll
+    static void init() {
+        jdbcTemplate = app.bean(JdbcTemplate.class);
+        unit = app.bean(UnitRepository.class).findAll().get(0);
+    }
+
+    @Test
+    @DisplayName("POST /api/products/adjust should reprice and restock the filtered products in one transaction")
+    void testAdjustByFilter() throws Exception {
+        Product flour = product("Repricing flour 100%", "10.00", "5");
+        Product sugar = product("Repricing flour_sugar", "3.33", "1");
+        Product salt = product("Repricing salt", "2.00", "8");
+        // Cached before the adjustment, so the next read shows whether it was evicted.
+        assertTrue(send("GET", "/api/products/" + flour.getId(), null).body().contains("\"price\":10.00"));
+
+        HttpResponse<String> response = send("POST", "/api/products/adjust", """
+                {"nameContains":"REPRICING FLOUR","pricePercent":-15,"stockDelta":2,"stockChangeReason":"Inventaire"}""");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"updated\":2,\"movements\":2}", response.body());
+        assertProduct(flour, "8.50", "7");
+        assertProduct(sugar, "2.83", "3");
+        assertProduct(salt, "2.00", "8");
+        List<Map<String, Object>> movements = jdbcTemplate.queryForList(
+                "select type, quantity, reason, unit_id from stock_movements where product_id = ?", flour.getId());
+        assertEquals(1, movements.size());
+        assertEquals(2, ((Number) movements.get(0).get("type")).intValue());
+        assertEquals(0, new BigDecimal("2").compareTo((BigDecimal) movements.get(0).get("quantity")));
+        assertEquals("Inventaire", movements.get(0).get("reason"));
+        assertEquals(unit.getId(), movements.get(0).get("unit_id"));
+        assertTrue(send("GET", "/api/products/" + flour.getId(), null).body().contains("\"price\":8.50"));
+
+        // LIKE wildcards in the filter are taken literally.
+        assertEquals("{\"updated\":1,\"movements\":0}", send("POST", "/api/products/adjust", """
+                {"nameContains":"flour_","price":4}""").body());
+        assertProduct(sugar, "4.00", "3");
+        assertProduct(flour, "8.50", "7");
+    }
+
+    @Test
+    @DisplayName("POST /api/products/adjust should change nothing when one product would go below zero")
+    void testAdjustRollsBackNegativeStock() throws Exception {
+        Product rice = product("Rollback rice", "4.00", "10");
+        Product oil = product("Rollback oil", "9.00", "2");
+
+        HttpResponse<String> response = send("POST", "/api/products/adjust", """
+                {"productIds":["%s","%s"],"price":5,"stockDelta":-3,"stockChangeReason":"Casse"}""".formatted(
+                rice.getId(), oil.getId()));
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Insufficient stock for product: Rollback oil"));
+        assertProduct(rice, "4.00", "10");
+        assertProduct(oil, "9.00", "2");
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stock_movements where product_id in (?, ?)", Integer.class, rice.getId(), oil.getId()));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/adjust should require a selection")
+    void testAdjustWithoutSelection() throws Exception {
+        HttpResponse<String> response = send("POST", "/api/products/adjust", """
+                {"pricePercent":10}""");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Product ids or a filter are required"));
+    }
+
+    private static Product product(String name, String price, String stock) {
+        return app.bean(ProductRepository.class).save(Product.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .stock(new BigDecimal(stock))
+                .unit(unit)
+                .build());
+    }
+
+    private static void assertProduct(Product product, String price, String stock) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select price, stock from products where id = ?", product.getId());
+        assertEquals(0, new BigDecimal(price).compareTo((BigDecimal) row.get("price")), product.getName());
+        assertEquals(0, new BigDecimal(stock).compareTo((BigDecimal) row.get("stock")), product.getName());
+    }
+
+    private static HttpResponse<String> send(String method, String path, String json) throws Exception {
+        HttpRequest.Builder builder = app.request(path);
+        if (json == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        return app.send(builder.build());
+    }
+}
@@ -0,0 +1,147 @@
+package marcostar.project.store_project.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+
+/**
+ * Posts CSV and NDJSON catalogs to {@code POST /api/products/import} against an embedded Postgres,
+ * with batches of two rows so that a file spans several transactions.
+ */
+@DisplayName("Product Import Integration Tests")
+class ProductImportIntegrationTest {
+
+    private static final Pattern CREATED_ID = Pattern.compile("\"status\":\"CREATED\",\"id\":\"([0-9a-f-]{36})\"");
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication("--store.product-import.batch-size=2");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void init() {
+        jdbcTemplate = app.bean(JdbcTemplate.class);
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import should insert valid CSV rows and report the others")
+    void testImportCsv() throws Exception {
+        String csv = "\uFEFFName,Price,Stock,Unit,Description\r\n"
+                + "Farine T55,18.90,40,kilogram,\"Sac de 25 kg, \"\"meunerie\"\" locale\"\r\n"
+                + "Sucre en poudre,2.10,abc,KILOGRAM,\r\n"
+                + "\r\n"
+                + "Huile d'olive,9.50,,LITER,\"Première\npression\"\r\n"
+                + "Sel fin,0.80,12,FURLONG,\r\n"
+                + "Poivre noir,4.20,3,GRAM,\r\n";
+
+        HttpResponse<String> response = post("text/csv", csv);
+
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"index\":0,\"status\":\"CREATED\""));
+        assertEquals("{\"index\":1,\"status\":\"FAILED\",\"error\":\"Invalid stock: abc\"}", lines.get(1));
+        assertTrue(lines.get(2).startsWith("{\"index\":2,\"status\":\"CREATED\""));
+        assertEquals("{\"index\":3,\"status\":\"FAILED\",\"error\":\"Unit not found: FURLONG\"}", lines.get(3));
+        assertTrue(lines.get(4).startsWith("{\"index\":4,\"status\":\"CREATED\""));
+
+        UUID flour = createdId(lines.get(0));
+        assertEquals("Sac de 25 kg, \"meunerie\" locale",
+                jdbcTemplate.queryForObject("select description from products where id = ?", String.class, flour));
+        assertEquals(0, new BigDecimal("40").compareTo(movementQuantity(flour)));
+        UUID oil = createdId(lines.get(2));
+        assertEquals("Première\npression",
+                jdbcTemplate.queryForObject("select description from products where id = ?", String.class, oil));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stock_movements where product_id = ?", Integer.class, oil));
+
+        // Indexed for search once their batch committed.
+        HttpResponse<String> search = app.get("/api/products/search?q=farine");
+        assertEquals(200, search.statusCode());
+        assertTrue(search.body().contains(flour.toString()));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import should accept NDJSON rows")
+    void testImportNdjson() throws Exception {
+        String ndjson = """
+                {"name":"Lait entier","price":1.15,"stock":24,"unit":"LITER"}
+                {"name":"","price":1.15,"unit":"LITER"}
+                {"name":"Beurre doux","price":2.40,"stock":0.5,"unit":"KILOGRAM","description":"Motte"}
+                """;
+
+        HttpResponse<String> response = post("application/x-ndjson", ndjson);
+
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("{\"index\":1,\"status\":\"FAILED\",\"error\":\"name: must not be blank\"}", lines.get(1));
+        UUID butter = createdId(lines.get(2));
+        assertEquals(0, new BigDecimal("0.5").compareTo(movementQuantity(butter)));
+        assertEquals("Initial stock", jdbcTemplate.queryForObject(
+                "select reason from stock_movements where product_id = ?", String.class, butter));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import should skip an NDJSON row with a wrong-typed field and go on")
+    void testImportNdjsonWrongType() throws Exception {
+        String ndjson = """
+                {"name":"Yaourt nature","price":"abc","stock":{"nested":[1,2]},"unit":"KILOGRAM"}
+                {"name":"Crème fraîche","price":3.10,"unit":"LITER"}
+                {"name":"Fromage blanc","price":1.0,,"unit":"LITER"}
+                {"name":"Jamais lu","price":1,"unit":"LITER"}
+                """;
+
+        HttpResponse<String> response = post("application/x-ndjson", ndjson);
+
+        assertEquals(200, response.statusCode());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(3, lines.size(), response.body());
+        assertEquals("{\"index\":0,\"status\":\"FAILED\",\"error\":\"Invalid price: abc\"}", lines.get(0));
+        UUID cream = createdId(lines.get(1));
+        assertEquals("Crème fraîche",
+                jdbcTemplate.queryForObject("select name from products where id = ?", String.class, cream));
+        assertTrue(lines.get(2).startsWith("{\"index\":2,\"status\":\"FAILED\",\"error\":\"Malformed row"), lines.get(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import should reject a CSV without the required columns")
+    void testImportCsvWithoutHeader() throws Exception {
+        HttpResponse<String> response = post("text/csv", "name,price\nFarine,1.00\n");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Missing CSV column: unit"));
+    }
+
+    private static UUID createdId(String line) {
+        Matcher matcher = CREATED_ID.matcher(line);
+        assertTrue(matcher.find(), line);
+        return UUID.fromString(matcher.group(1));
+    }
+
+    private static BigDecimal movementQuantity(UUID productId) {
+        return jdbcTemplate.queryForObject(
+                "select quantity from stock_movements where product_id = ? and type = 0", BigDecimal.class, productId);
+    }
+
+    private static HttpResponse<String> post(String contentType, String body) throws Exception {
+        return app.send(app.request("/api/products/import")
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+}
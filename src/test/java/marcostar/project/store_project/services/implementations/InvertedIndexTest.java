@@ -0,0 +1,95 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("InvertedIndex Unit Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+    private UUID flour;
+    private UUID sugar;
+    private UUID cake;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        flour = UUID.randomUUID();
+        sugar = UUID.randomUUID();
+        cake = UUID.randomUUID();
+        index.put(flour, "Farine de blé T55", "Farine pour pâtisserie");
+        index.put(sugar, "Sucre en poudre", "Pour la pâtisserie et les gâteaux");
+        index.put(cake, "Gâteau au chocolat", "Préparé avec farine et sucre");
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void testNameOutranksDescription() {
+        InvertedIndex.Hits hits = index.search("farine", 0, 10);
+
+        assertEquals(List.of(flour, cake), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents")
+    void testFoldsCaseAndAccents() {
+        assertEquals(List.of(cake, sugar), index.search("GATEAU", 0, 10).ids());
+        assertEquals(List.of(flour, sugar), index.search("patisserie", 0, 10).ids());
+    }
+
+    @Test
+    @DisplayName("Should match prefixes and typos below exact matches")
+    void testPrefixAndFuzzy() {
+        assertEquals(List.of(cake), index.search("choco", 0, 10).ids());
+        assertEquals(List.of(sugar, cake), index.search("sucer", 0, 10).ids());
+        assertEquals(List.of(flour, cake), index.search("farnie", 0, 10).ids());
+        assertTrue(index.search("zzz", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank documents matching more query terms first")
+    void testMultipleTerms() {
+        InvertedIndex.Hits hits = index.search("farine sucre", 0, 10);
+
+        assertEquals(cake, hits.ids().get(0));
+        assertEquals(3, hits.total());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked results")
+    void testPaging() {
+        assertEquals(List.of(flour), index.search("farine", 0, 1).ids());
+        assertEquals(List.of(cake), index.search("farine", 1, 1).ids());
+        assertTrue(index.search("farine", 2, 1).ids().isEmpty());
+        assertEquals(2, index.search("farine", 2, 1).total());
+    }
+
+    @Test
+    @DisplayName("Should replace and remove indexed products")
+    void testUpdateAndRemove() {
+        index.put(flour, "Farine de seigle", null);
+        index.remove(cake);
+
+        assertEquals(List.of(flour), index.search("seigle", 0, 10).ids());
+        assertTrue(index.search("pain patisserie", 0, 10).ids().contains(sugar));
+        assertEquals(List.of(flour), index.search("farine", 0, 10).ids());
+        assertTrue(index.search("chocolat", 0, 10).ids().isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should bound edit distance")
+    void testDistance() {
+        assertEquals(1, InvertedIndex.distance("sucre", "sucer", 2));
+        assertEquals(1, InvertedIndex.distance("farine", "farnie", 2));
+        assertEquals(2, InvertedIndex.distance("farine", "farnies", 2));
+        assertEquals(3, InvertedIndex.distance("farine", "sucre", 2));
+    }
+}
@@ -6,8 +6,13 @@ import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,29 +20,45 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import marcostar.project.store_project.config.security.LoggerUser;
+import marcostar.project.store_project.dtos.order.BulkOrderResult;
 import marcostar.project.store_project.dtos.order.OrderItemRequest;
 import marcostar.project.store_project.dtos.order.OrderRequest;
 import marcostar.project.store_project.dtos.order.OrderResponse;
 import marcostar.project.store_project.dtos.order.OrderStatusRequest;
 import marcostar.project.store_project.dtos.order.OrderUpdateRequest;
+import marcostar.project.store_project.dtos.pagination.KeysetSlice;
 import marcostar.project.store_project.entities.CustomerOrder;
 import marcostar.project.store_project.entities.OrderItem;
 import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.StockMovement;
 import marcostar.project.store_project.entities.Unit;
 import marcostar.project.store_project.entities.User;
 import marcostar.project.store_project.entities.enums.MovementType;
 import marcostar.project.store_project.entities.enums.OrderStatus;
 import marcostar.project.store_project.repositories.OrderRepository;
 import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.services.OrderNumberGenerator;
+import marcostar.project.store_project.services.StockReservationService;
 import marcostar.project.store_project.services.StockService;
 import marcostar.project.store_project.services.UnitConversionService;
 
@@ -54,12 +75,30 @@ class OrderServiceImplTest {
     @Mock
     private StockService stockService;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
     @Mock
     private LoggerUser loggerUser;
 
     @Mock
     private UnitConversionService unitConversionService;
 
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -120,10 +159,9 @@ class OrderServiceImplTest {
         orderRequest.setItems(List.of(itemRequest));
 
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
         when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
                 .thenReturn(BigDecimal.valueOf(5));
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
         when(orderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> {
             CustomerOrder order = invocation.getArgument(0);
             order.setId(testOrderId);
@@ -137,15 +175,95 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getItems().size());
         verify(loggerUser, times(1)).getCurrentUser();
-        verify(productRepository, times(1)).findById(testProductId);
-        verify(productRepository, times(2)).save(any(Product.class));
-        verify(stockService, times(1)).recordMovement(
-                any(Product.class),
-                any(BigDecimal.class),
-                eq(MovementType.OUT),
-                any(Unit.class),
-                contains("Creating new order")
-        );
+        verify(productRepository, times(1)).findAllWithUnitByIdIn(anyCollection());
+        verify(productRepository, never()).findById(any(UUID.class));
+        verify(stockReservationService, times(1)).reserve(Map.of(testProductId, new BigDecimal("5.000")));
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockService, times(1)).recordMovements(movements.capture());
+        assertEquals(1, movements.getValue().size());
+        assertEquals(MovementType.OUT, movements.getValue().get(0).getType());
+        assertTrue(movements.getValue().get(0).getReason().contains("Creating new order"));
+        assertEquals(1, meterRegistry.get("store.order").tag("operation", "create").timer().count());
+        for (String phase : List.of("load_products", "resolve_quantities", "reserve_stock", "persist",
+                "record_movements", "map_response")) {
+            assertEquals(1, meterRegistry.get("store.order.phase").tags("operation", "create", "phase", phase)
+                    .timer().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should load products and write movements once regardless of order size")
+    void testCreateOrderBatchesLargeOrders() {
+        
+        List<Product> products = new ArrayList<>();
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product product = Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Product " + i)
+                    .price(BigDecimal.ONE)
+                    .stock(BigDecimal.valueOf(10))
+                    .unit(testUnit)
+                    .build();
+            products.add(product);
+            OrderItemRequest itemRequest = new OrderItemRequest();
+            itemRequest.setProductId(product.getId());
+            itemRequest.setQuantity(BigDecimal.ONE);
+            itemRequest.setUnitId(testUnitId);
+            items.add(itemRequest);
+        }
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setItems(items);
+
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(products);
+        when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(BigDecimal.ONE);
+        when(orderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        
+        OrderResponse result = orderService.createOrder(orderRequest);
+
+        
+        assertEquals(200, result.getItems().size());
+        verify(productRepository, times(1)).findAllWithUnitByIdIn(anyCollection());
+        verify(productRepository, never()).findById(any(UUID.class));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(stockReservationService, times(1)).reserve(argThat(map -> map.size() == 200));
+        verify(orderRepository, times(1)).save(any(CustomerOrder.class));
+        verify(stockService, times(1)).recordMovements(argThat(list -> list.size() == 200));
+        verify(stockService, never()).recordMovement(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reserve aggregated stock when a product appears on several lines")
+    void testCreateOrderReservesAggregatedStock() {
+        
+        OrderItemRequest first = new OrderItemRequest();
+        first.setProductId(testProductId);
+        first.setQuantity(BigDecimal.valueOf(60));
+        first.setUnitId(testUnitId);
+        OrderItemRequest second = new OrderItemRequest();
+        second.setProductId(testProductId);
+        second.setQuantity(BigDecimal.valueOf(60));
+        second.setUnitId(testUnitId);
+
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setItems(List.of(first, second));
+
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
+        when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(BigDecimal.valueOf(60));
+        when(orderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        
+        OrderResponse result = orderService.createOrder(orderRequest);
+
+        
+        assertEquals(2, result.getItems().size());
+        verify(stockReservationService, times(1)).reserve(Map.of(testProductId, new BigDecimal("120.000")));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(testProduct.getStock()));
     }
 
     @Test
@@ -161,7 +279,7 @@ class OrderServiceImplTest {
         orderRequest.setItems(List.of(itemRequest));
 
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.empty());
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of());
 
         
         IllegalArgumentException exception = assertThrows(
@@ -185,9 +303,11 @@ class OrderServiceImplTest {
         orderRequest.setItems(List.of(itemRequest));
 
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
         when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
                 .thenReturn(BigDecimal.valueOf(150));
+        doThrow(new IllegalArgumentException("Insufficient stock for product: Test Product"))
+                .when(stockReservationService).reserve(anyMap());
 
         
         IllegalArgumentException exception = assertThrows(
@@ -211,10 +331,9 @@ class OrderServiceImplTest {
         orderRequest.setItems(List.of(itemRequest));
 
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
         when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
                 .thenReturn(BigDecimal.ZERO);
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
         when(orderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         
@@ -223,7 +342,147 @@ class OrderServiceImplTest {
         
         assertNotNull(result);
         assertEquals(0, result.getItems().size());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(stockReservationService, times(1)).reserve(Map.of());
+        verify(stockService, never()).recordMovements(anyList());
+    }
+
+    @Test
+    @DisplayName("Should commit bulk orders in batches and report each one")
+    void testCreateOrdersInBatches() {
+        
+        ReflectionTestUtils.setField(orderService, "bulkBatchSize", 2);
+        stubBulkTransaction();
+        List<OrderRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            requests.add(orderRequest(BigDecimal.valueOf(i)));
+        }
+        List<List<BulkOrderResult>> commits = new ArrayList<>();
+
+        
+        orderService.createOrders(requests.iterator(), commits::add);
+
+        
+        assertEquals(List.of(2, 2, 1), commits.stream().map(List::size).toList());
+        List<BulkOrderResult> results = commits.stream().flatMap(List::stream).toList();
+        assertEquals(List.of(0, 1, 2, 3, 4), results.stream().map(BulkOrderResult::getIndex).toList());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BulkOrderResult.Status.CREATED));
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(productRepository, times(3)).findAllWithUnitByIdIn(anyCollection());
+        verify(stockReservationService).reserve(Map.of(testProductId, new BigDecimal("3.000")));
+        verify(stockReservationService).reserve(Map.of(testProductId, new BigDecimal("7.000")));
+        verify(stockReservationService).reserve(Map.of(testProductId, new BigDecimal("5.000")));
+        verify(stockService, times(3)).recordMovements(anyList());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("Should replay a failing bulk batch one order at a time")
+    void testCreateOrdersIsolatesFailingOrder() {
+        
+        ReflectionTestUtils.setField(orderService, "bulkBatchSize", 3);
+        stubBulkTransaction();
+        doAnswer(invocation -> {
+            Map<UUID, BigDecimal> quantities = invocation.getArgument(0);
+            if (quantities.get(testProductId).compareTo(BigDecimal.valueOf(50)) > 0) {
+                throw new IllegalArgumentException("Insufficient stock for product: Test Product");
+            }
+            return null;
+        }).when(stockReservationService).reserve(anyMap());
+        List<OrderRequest> requests = List.of(
+                orderRequest(BigDecimal.ONE), orderRequest(BigDecimal.valueOf(100)), orderRequest(BigDecimal.TEN));
+        List<List<BulkOrderResult>> commits = new ArrayList<>();
+
+        
+        orderService.createOrders(requests.iterator(), commits::add);
+
+        
+        assertEquals(1, commits.size());
+        List<BulkOrderResult> results = commits.get(0);
+        assertEquals(List.of(BulkOrderResult.Status.CREATED, BulkOrderResult.Status.FAILED, BulkOrderResult.Status.CREATED),
+                results.stream().map(BulkOrderResult::getStatus).toList());
+        assertEquals("Insufficient stock for product: Test Product", results.get(1).getError());
+        assertNotNull(results.get(0).getOrder());
+        verify(transactionTemplate, times(4)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should report database failures of a bulk order without their SQL")
+    void testCreateOrdersHidesDatabaseErrors() {
+        
+        ReflectionTestUtils.setField(orderService, "bulkBatchSize", 1);
+        stubBulkTransaction();
+        doThrow(new DataIntegrityViolationException("insert into order_items ... fk_order_items_product_id",
+                new SQLException("violates foreign key constraint \"fk_order_items_product_id\"", "23503")))
+                .doThrow(new IllegalStateException("Connection is closed"))
+                .when(stockReservationService).reserve(anyMap());
+        List<OrderRequest> requests = List.of(orderRequest(BigDecimal.ONE), orderRequest(BigDecimal.TEN));
+        List<BulkOrderResult> results = new ArrayList<>();
+
+        
+        orderService.createOrders(requests.iterator(), results::addAll);
+
+        
+        assertEquals(List.of("Referenced record not found", "Internal error"),
+                results.stream().map(BulkOrderResult::getError).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid and malformed bulk orders without aborting the stream")
+    void testCreateOrdersRejectsInvalidOrders() {
+        
+        ReflectionTestUtils.setField(orderService, "bulkBatchSize", 10);
+        stubBulkTransaction();
+        OrderRequest empty = new OrderRequest();
+        empty.setItems(List.of());
+        Iterator<OrderRequest> requests = new Iterator<>() {
+            private final Iterator<OrderRequest> parsed = List.of(orderRequest(BigDecimal.ONE), empty).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public OrderRequest next() {
+                if (parsed.hasNext()) {
+                    return parsed.next();
+                }
+                throw new IllegalStateException("Unexpected end-of-input");
+            }
+        };
+        List<List<BulkOrderResult>> commits = new ArrayList<>();
+
+        
+        orderService.createOrders(requests, commits::add);
+
+        
+        assertEquals(1, commits.size());
+        List<BulkOrderResult> results = commits.get(0);
+        assertEquals(3, results.size());
+        assertEquals(BulkOrderResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("items: must not be empty", results.get(1).getError());
+        assertEquals("Malformed order: Unexpected end-of-input", results.get(2).getError());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    private void stubBulkTransaction() {
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
+        lenient().when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private OrderRequest orderRequest(BigDecimal quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(testProductId);
+        item.setUnitId(testUnitId);
+        item.setQuantity(quantity);
+        OrderRequest request = new OrderRequest();
+        request.setItems(List.of(item));
+        return request;
     }
 
     @Test
@@ -231,8 +490,9 @@ class OrderServiceImplTest {
     void testGetOrdersForUser() {
         
         Pageable pageable = PageRequest.of(0, 10);
-        Page<CustomerOrder> orderPage = new PageImpl<>(List.of(testOrder));
-        when(orderRepository.findByUserId(testUserId, pageable)).thenReturn(orderPage);
+        Page<UUID> idPage = new PageImpl<>(List.of(testOrderId));
+        when(orderRepository.findPageIdsByUserId(testUserId, pageable)).thenReturn(idPage);
+        when(orderRepository.findAllWithItemsByIdIn(List.of(testOrderId))).thenReturn(List.of(testOrder));
 
         
         Page<OrderResponse> result = orderService.getOrdersForUser(testUserId, pageable);
@@ -240,7 +500,9 @@ class OrderServiceImplTest {
         
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(orderRepository, times(1)).findByUserId(testUserId, pageable);
+        assertEquals(testOrderId, result.getContent().get(0).getId());
+        verify(orderRepository, times(1)).findPageIdsByUserId(testUserId, pageable);
+        verify(orderRepository, times(1)).findAllWithItemsByIdIn(List.of(testOrderId));
     }
 
     @Test
@@ -248,8 +510,9 @@ class OrderServiceImplTest {
     void testGetAllOrders() {
         
         Pageable pageable = PageRequest.of(0, 10);
-        Page<CustomerOrder> orderPage = new PageImpl<>(List.of(testOrder));
-        when(orderRepository.findAll(pageable)).thenReturn(orderPage);
+        Page<UUID> idPage = new PageImpl<>(List.of(testOrderId));
+        when(orderRepository.findPageIds(pageable)).thenReturn(idPage);
+        when(orderRepository.findAllWithItemsByIdIn(List.of(testOrderId))).thenReturn(List.of(testOrder));
 
         
         Page<OrderResponse> result = orderService.getAllOrders(pageable);
@@ -257,7 +520,77 @@ class OrderServiceImplTest {
         
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(orderRepository, times(1)).findAll(pageable);
+        verify(orderRepository, times(1)).findPageIds(pageable);
+        verify(orderRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should keep page order and skip the item fetch for empty pages")
+    void testGetAllOrdersPageOrderAndEmptyPage() {
+        
+        CustomerOrder secondOrder = CustomerOrder.builder()
+                .id(UUID.randomUUID())
+                .orderNumber("ORD-000000000002")
+                .user(testUser)
+                .status(OrderStatus.PENDING)
+                .items(new ArrayList<>())
+                .build();
+        Pageable pageable = PageRequest.of(0, 10);
+        when(orderRepository.findPageIds(pageable))
+                .thenReturn(new PageImpl<>(List.of(secondOrder.getId(), testOrderId)));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(secondOrder.getId(), testOrderId)))
+                .thenReturn(List.of(testOrder, secondOrder));
+        Pageable emptyPageable = PageRequest.of(5, 10);
+        when(orderRepository.findPageIds(emptyPageable))
+                .thenReturn(new PageImpl<>(List.of(), emptyPageable, 2));
+
+        
+        Page<OrderResponse> result = orderService.getAllOrders(pageable);
+        Page<OrderResponse> empty = orderService.getAllOrders(emptyPageable);
+
+        
+        assertEquals(List.of(secondOrder.getId(), testOrderId),
+                result.getContent().stream().map(OrderResponse::getId).toList());
+        assertTrue(empty.getContent().isEmpty());
+        assertEquals(2, empty.getTotalElements());
+        verify(orderRepository, times(1)).findAllWithItemsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should scroll orders by keyset without counting")
+    void testScrollAllOrders() {
+        
+        Timestamp createdAt = Timestamp.from(Instant.parse("2026-03-01T10:15:30.123456Z"));
+        testOrder.setCreatedAt(createdAt);
+        when(orderRepository.findFirstSliceIds(PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(testOrderId), PageRequest.ofSize(1), true));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(testOrderId))).thenReturn(List.of(testOrder));
+        when(orderRepository.findSliceIdsAfter(createdAt, testOrderId, PageRequest.ofSize(1)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(1), false));
+
+        
+        KeysetSlice<OrderResponse> first = orderService.scrollAllOrders(null, 1);
+        KeysetSlice<OrderResponse> second = orderService.scrollAllOrders(first.getNextCursor(), 1);
+
+        
+        assertEquals(1, first.getSize());
+        assertTrue(first.isHasNext());
+        assertNotNull(first.getNextCursor());
+        assertEquals(0, second.getSize());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+        verify(orderRepository, never()).findPageIds(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed scroll cursors")
+    void testScrollAllOrdersInvalidCursor() {
+        
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderService.scrollAllOrders("not-a-cursor", 20)
+        );
+        assertEquals("Invalid cursor", exception.getMessage());
     }
 
     @Test
@@ -265,9 +598,10 @@ class OrderServiceImplTest {
     void testGetMyOrders() {
         
         Pageable pageable = PageRequest.of(0, 10);
-        Page<CustomerOrder> orderPage = new PageImpl<>(List.of(testOrder));
+        Page<UUID> idPage = new PageImpl<>(List.of(testOrderId));
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(orderRepository.findByUserId(testUserId, pageable)).thenReturn(orderPage);
+        when(orderRepository.findPageIdsByUserId(testUserId, pageable)).thenReturn(idPage);
+        when(orderRepository.findAllWithItemsByIdIn(List.of(testOrderId))).thenReturn(List.of(testOrder));
 
         
         Page<OrderResponse> result = orderService.getMyOrders(pageable);
@@ -276,14 +610,14 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         verify(loggerUser, times(1)).getCurrentUser();
-        verify(orderRepository, times(1)).findByUserId(testUserId, pageable);
+        verify(orderRepository, times(1)).findPageIdsByUserId(testUserId, pageable);
     }
 
     @Test
     @DisplayName("Should get order by ID successfully")
     void testGetOrderByIdSuccess() {
         
-        when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
 
         
         OrderResponse result = orderService.getOrderById(testOrderId);
@@ -291,14 +625,14 @@ class OrderServiceImplTest {
         
         assertNotNull(result);
         assertEquals(testOrderId, result.getId());
-        verify(orderRepository, times(1)).findById(testOrderId);
+        verify(orderRepository, times(1)).findWithItemsById(testOrderId);
     }
 
     @Test
     @DisplayName("Should throw exception when order not found by ID")
     void testGetOrderByIdNotFound() {
         
-        when(orderRepository.findById(testOrderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.empty());
 
         
         IllegalArgumentException exception = assertThrows(
@@ -306,7 +640,7 @@ class OrderServiceImplTest {
                 () -> orderService.getOrderById(testOrderId)
         );
         assertEquals("Order not found", exception.getMessage());
-        verify(orderRepository, times(1)).findById(testOrderId);
+        verify(orderRepository, times(1)).findWithItemsById(testOrderId);
     }
 
     @Test
@@ -335,7 +669,7 @@ class OrderServiceImplTest {
         OrderItem existingItem = OrderItem.builder()
                 .product(testProduct)
                 .quantity(BigDecimal.valueOf(5))
-                .unitPrice(BigDecimal.valueOf(10.00))
+                .unitPrice(BigDecimal.valueOf(8.00))
                 .order(testOrder)
                 .build();
         testOrder.getItems().add(existingItem);
@@ -348,9 +682,9 @@ class OrderServiceImplTest {
         OrderUpdateRequest updateRequest = new OrderUpdateRequest();
         updateRequest.setItems(List.of(newItemRequest));
 
-        when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
         when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
                 .thenReturn(BigDecimal.valueOf(10));
         when(orderRepository.save(any(CustomerOrder.class))).thenReturn(testOrder);
@@ -360,14 +694,168 @@ class OrderServiceImplTest {
 
         
         assertNotNull(result);
-        verify(orderRepository, times(1)).findById(testOrderId);
-        verify(stockService, atLeastOnce()).recordMovement(
-                any(Product.class),
-                any(BigDecimal.class),
-                any(MovementType.class),
-                any(Unit.class),
-                anyString()
-        );
+        verify(orderRepository, times(1)).findWithItemsById(testOrderId);
+        assertEquals(1, testOrder.getItems().size());
+        assertSame(existingItem, testOrder.getItems().get(0));
+        assertEquals(new BigDecimal("10.000"), existingItem.getQuantity());
+        assertEquals(testProduct.getPrice(), existingItem.getUnitPrice());
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockService, times(1)).recordMovements(movements.capture());
+        verify(stockService, never()).recordMovement(any(), any(), any(), any(), any());
+        assertEquals(1, movements.getValue().size());
+        assertEquals(MovementType.ADJUSTMENT, movements.getValue().get(0).getType());
+        assertEquals(new BigDecimal("-5.000"), movements.getValue().get(0).getQuantity());
+        verify(stockReservationService, times(1)).rebalance(
+                Map.of(testProductId, BigDecimal.valueOf(5)),
+                Map.of(testProductId, new BigDecimal("10.000")));
+    }
+
+    @Test
+    @DisplayName("Should only touch the lines whose quantity changed")
+    void testUpdateOrderOnlyChangedLines() {
+        
+        List<Product> products = new ArrayList<>();
+        List<OrderItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Product product = Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Product " + i)
+                    .price(BigDecimal.ONE)
+                    .stock(BigDecimal.valueOf(1000))
+                    .unit(testUnit)
+                    .build();
+            products.add(product);
+            testOrder.getItems().add(OrderItem.builder()
+                    .order(testOrder)
+                    .product(product)
+                    .quantity(new BigDecimal("2.000"))
+                    .unitPrice(BigDecimal.ONE)
+                    .build());
+            OrderItemRequest request = new OrderItemRequest();
+            request.setProductId(product.getId());
+            request.setUnitId(testUnitId);
+            request.setQuantity(i == 42 ? BigDecimal.valueOf(7) : BigDecimal.valueOf(2));
+            requests.add(request);
+        }
+        List<OrderItem> before = List.copyOf(testOrder.getItems());
+        OrderUpdateRequest updateRequest = new OrderUpdateRequest();
+        updateRequest.setItems(requests);
+
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(products);
+        when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.save(any(CustomerOrder.class))).thenReturn(testOrder);
+
+        
+        orderService.updateOrder(testOrderId, updateRequest);
+
+        
+        assertEquals(before, testOrder.getItems());
+        assertEquals(new BigDecimal("7.000"), testOrder.getItems().get(42).getQuantity());
+        UUID changed = products.get(42).getId();
+        verify(stockReservationService, times(1)).rebalance(
+                Map.of(changed, new BigDecimal("2.000")),
+                Map.of(changed, new BigDecimal("7.000")));
+        verify(stockService, times(1)).recordMovements(argThat(list -> list.size() == 1
+                && list.get(0).getProduct().getId().equals(changed)
+                && list.get(0).getQuantity().compareTo(BigDecimal.valueOf(-5)) == 0));
+        verify(productRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore a product requested at zero that the order does not contain")
+    void testUpdateOrderZeroQuantityNewProduct() {
+        
+        Product other = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Other")
+                .price(BigDecimal.ONE)
+                .unit(testUnit)
+                .build();
+        OrderItem existingItem = OrderItem.builder()
+                .order(testOrder)
+                .product(testProduct)
+                .quantity(new BigDecimal("2.000"))
+                .unitPrice(BigDecimal.valueOf(8.00))
+                .build();
+        testOrder.getItems().add(existingItem);
+
+        OrderItemRequest kept = new OrderItemRequest();
+        kept.setProductId(testProductId);
+        kept.setUnitId(testUnitId);
+        kept.setQuantity(BigDecimal.valueOf(2));
+        OrderItemRequest zero = new OrderItemRequest();
+        zero.setProductId(other.getId());
+        zero.setUnitId(testUnitId);
+        zero.setQuantity(BigDecimal.ZERO);
+        OrderUpdateRequest updateRequest = new OrderUpdateRequest();
+        updateRequest.setItems(List.of(kept, zero));
+
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct, other));
+        when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.save(any(CustomerOrder.class))).thenReturn(testOrder);
+
+        
+        orderService.updateOrder(testOrderId, updateRequest);
+
+        
+        assertEquals(List.of(existingItem), testOrder.getItems());
+        assertEquals(BigDecimal.valueOf(8.00), existingItem.getUnitPrice());
+        assertNull(testOrder.getUpdatedAt());
+        verify(stockReservationService, never()).rebalance(any(), any());
+        verify(stockService, never()).recordMovements(any());
+    }
+
+    @Test
+    @DisplayName("Should release removed products and add new ones")
+    void testUpdateOrderAddsAndRemovesLines() {
+        
+        Product removed = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Removed")
+                .price(BigDecimal.ONE)
+                .unit(testUnit)
+                .build();
+        testOrder.getItems().add(OrderItem.builder()
+                .order(testOrder)
+                .product(removed)
+                .quantity(new BigDecimal("3.000"))
+                .unitPrice(BigDecimal.ONE)
+                .build());
+
+        OrderItemRequest added = new OrderItemRequest();
+        added.setProductId(testProductId);
+        added.setUnitId(testUnitId);
+        added.setQuantity(BigDecimal.valueOf(4));
+        OrderUpdateRequest updateRequest = new OrderUpdateRequest();
+        updateRequest.setItems(List.of(added));
+
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(loggerUser.getCurrentUser()).thenReturn(testUser);
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
+        when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(BigDecimal.valueOf(4));
+        when(orderRepository.save(any(CustomerOrder.class))).thenReturn(testOrder);
+
+        
+        orderService.updateOrder(testOrderId, updateRequest);
+
+        
+        assertEquals(1, testOrder.getItems().size());
+        assertEquals(testProductId, testOrder.getItems().get(0).getProduct().getId());
+        assertEquals(testProduct.getPrice(), testOrder.getItems().get(0).getUnitPrice());
+        verify(stockReservationService, times(1)).rebalance(
+                Map.of(removed.getId(), new BigDecimal("3.000"), testProductId, BigDecimal.ZERO),
+                Map.of(removed.getId(), BigDecimal.ZERO, testProductId, new BigDecimal("4.000")));
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockService, times(1)).recordMovements(movements.capture());
+        assertEquals(List.of(new BigDecimal("3.000"), new BigDecimal("-4.000")),
+                movements.getValue().stream().map(StockMovement::getQuantity).toList());
     }
 
     @Test
@@ -382,7 +870,7 @@ class OrderServiceImplTest {
         OrderUpdateRequest updateRequest = new OrderUpdateRequest();
         updateRequest.setItems(List.of());
 
-        when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
         when(loggerUser.getCurrentUser()).thenReturn(differentUser);
 
         
@@ -413,14 +901,14 @@ class OrderServiceImplTest {
 
         
         verify(orderRepository, times(1)).findById(testOrderId);
-        verify(stockService, times(1)).recordMovement(
-                any(Product.class),
-                eq(BigDecimal.valueOf(5)),
-                eq(MovementType.IN),
-                any(Unit.class),
-                contains("Order deletion")
-        );
-        verify(productRepository, times(1)).save(any(Product.class));
+        ArgumentCaptor<List<StockMovement>> movements = ArgumentCaptor.forClass(List.class);
+        verify(stockService, times(1)).recordMovements(movements.capture());
+        assertEquals(1, movements.getValue().size());
+        StockMovement movement = movements.getValue().get(0);
+        assertEquals(BigDecimal.valueOf(5), movement.getQuantity());
+        assertEquals(MovementType.IN, movement.getType());
+        assertTrue(movement.getReason().contains("Order deletion"));
+        verify(stockReservationService, times(1)).release(Map.of(testProductId, BigDecimal.valueOf(5)));
         verify(orderRepository, times(1)).delete(testOrder);
     }
 
@@ -451,11 +939,11 @@ class OrderServiceImplTest {
         OrderRequest orderRequest = new OrderRequest();
         orderRequest.setItems(List.of(itemRequest));
 
+        when(orderNumberGenerator.next()).thenReturn("ORD-000000000001");
         when(loggerUser.getCurrentUser()).thenReturn(testUser);
-        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllWithUnitByIdIn(anyCollection())).thenReturn(List.of(testProduct));
         when(unitConversionService.convert(any(BigDecimal.class), any(UUID.class), any(UUID.class)))
                 .thenReturn(BigDecimal.valueOf(5));
-        when(orderRepository.existsByOrderNumber(anyString())).thenReturn(false);
         when(orderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> {
             CustomerOrder order = invocation.getArgument(0);
             order.setId(testOrderId);
@@ -469,7 +957,8 @@ class OrderServiceImplTest {
         assertNotNull(result);
         assertNotNull(result.getOrderNumber());
         assertTrue(result.getOrderNumber().startsWith("ORD-"));
-        verify(orderRepository, atLeastOnce()).existsByOrderNumber(anyString());
+        verify(orderNumberGenerator, times(1)).next();
+        verify(orderRepository, never()).existsByOrderNumber(anyString());
     }
 
     @Test
@@ -493,7 +982,7 @@ class OrderServiceImplTest {
         testOrder.getItems().add(item1);
         testOrder.getItems().add(item2);
 
-        when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(testOrderId)).thenReturn(Optional.of(testOrder));
 
         
         OrderResponse result = orderService.getOrderById(testOrderId);
@@ -5,6 +5,13 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,17 +21,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+
+import marcostar.project.store_project.dtos.product.ProductAdjustmentRequest;
+import marcostar.project.store_project.dtos.product.ProductImportResult;
+import marcostar.project.store_project.dtos.product.ProductImportRow;
 import marcostar.project.store_project.dtos.product.ProductRequest;
 import marcostar.project.store_project.dtos.product.ProductResponse;
 import marcostar.project.store_project.entities.Product;
 import marcostar.project.store_project.entities.Unit;
 import marcostar.project.store_project.entities.enums.MovementType;
+import marcostar.project.store_project.repositories.OrderRepository;
 import marcostar.project.store_project.repositories.ProductRepository;
 import marcostar.project.store_project.repositories.UnitRepository;
 import marcostar.project.store_project.services.StockService;
@@ -42,6 +68,26 @@ class ProductServiceImplTest {
     @Mock
     private UnitRepository unitRepository;
 
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final InvalidationBus invalidationBus = mock(InvalidationBus.class);
+
+    @Spy
+    private ProductCache productCache = newProductCache(invalidationBus);
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -157,6 +203,7 @@ class ProductServiceImplTest {
                 eq(testUnit),
                 eq("Initial stock")
         );
+        verify(searchIndex).index(argThat(product -> testProductId.equals(product.getId())));
     }
 
     @Test
@@ -290,6 +337,7 @@ class ProductServiceImplTest {
         
         verify(productRepository, times(1)).existsById(testProductId);
         verify(productRepository, times(1)).deleteById(testProductId);
+        verify(searchIndex).remove(testProductId);
     }
 
     @Test
@@ -344,4 +392,342 @@ class ProductServiceImplTest {
         assertNotNull(result);
         verify(stockService, never()).recordMovement(any(), any(), any(), any(), any());
     }
+
+    @Test
+    @DisplayName("Should serve repeated product reads from the cache")
+    void testGetByIdCached() {
+        
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+
+        
+        ProductResponse first = productService.getById(testProductId);
+        ProductResponse second = productService.getById(testProductId);
+
+        
+        assertSame(first, second);
+        verify(productRepository, times(1)).findById(testProductId);
+        assertEquals(1, productCache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should keep cached pages across stock changes and reload only the evicted products")
+    void testGetAllCachedPage() {
+        
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+        when(productRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+        when(productRepository.findAllWithUnitByIdIn(List.of(testProductId))).thenReturn(List.of(testProduct));
+
+        
+        productService.getAll(pageable);
+        Page<ProductResponse> cached = productService.getAll(pageable);
+        productCache.evict(List.of(testProductId));
+        Page<ProductResponse> reloaded = productService.getAll(pageable);
+
+        
+        assertEquals(1, cached.getTotalElements());
+        assertEquals(testProductId, cached.getContent().get(0).getId());
+        assertEquals(testProductId, reloaded.getContent().get(0).getId());
+        verify(productRepository, times(1)).findAll(pageable);
+        verify(productRepository, times(1)).findAllWithUnitByIdIn(List.of(testProductId));
+        verify(invalidationBus).publish(InvalidationTopic.PRODUCT, testProductId.toString());
+    }
+
+    @Test
+    @DisplayName("Should not cache pages sorted by stock or past the first pages")
+    void testGetAllUncachedPages() {
+        
+        Pageable byStock = PageRequest.of(0, 10, Sort.by("stock"));
+        Pageable deepPage = PageRequest.of(5, 10);
+        when(productRepository.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(testProduct), invocation.getArgument(0), 51));
+
+        
+        productService.getAll(byStock);
+        productService.getAll(byStock);
+        productService.getAll(deepPage);
+        productService.getAll(deepPage);
+
+        
+        verify(productRepository, times(2)).findAll(byStock);
+        verify(productRepository, times(2)).findAll(deepPage);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached product and pages when a product is updated")
+    void testUpdateEvictsCache() {
+        
+        Pageable pageable = PageRequest.of(0, 10);
+        testRequest.setStock(null);
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+        when(unitRepository.findById(testUnitId)).thenReturn(Optional.of(testUnit));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        productService.getById(testProductId);
+        productService.getAll(pageable);
+
+        
+        productService.update(testProductId, testRequest);
+        ProductResponse result = productService.getById(testProductId);
+        productService.getAll(pageable);
+
+        
+        assertEquals("New Product", result.getName());
+        verify(productRepository, times(3)).findById(testProductId);
+        verify(productRepository, times(2)).findAll(pageable);
+        verify(invalidationBus).publish(InvalidationTopic.PRODUCT_CATALOG, testProductId.toString());
+    }
+
+    @Test
+    @DisplayName("Should bump the orders showing a product only when it is renamed")
+    void testUpdateTouchesOrdersOnRename() {
+        
+        testRequest.setStock(null);
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        when(unitRepository.findById(testUnitId)).thenReturn(Optional.of(testUnit));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        
+        productService.update(testProductId, testRequest);
+        productService.update(testProductId, testRequest);
+
+        
+        verify(orderRepository, times(1)).touchByProductId(eq(testProductId), any(Date.class));
+    }
+
+    private static ProductCache newProductCache(InvalidationBus invalidationBus) {
+        ProductCache cache = new ProductCache(new SimpleMeterRegistry(), invalidationBus);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "firstPages", 5);
+        cache.init();
+        return cache;
+    }
+
+    @Test
+    @DisplayName("Should return search hits in rank order, loading uncached products in one query")
+    void testSearch() {
+        
+        Pageable pageable = PageRequest.of(0, 10);
+        Product other = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Other Product")
+                .price(BigDecimal.ONE)
+                .stock(BigDecimal.ONE)
+                .unit(testUnit)
+                .build();
+        UUID deletedId = UUID.randomUUID();
+        when(productRepository.findById(testProductId)).thenReturn(Optional.of(testProduct));
+        productService.getById(testProductId);
+        when(searchIndex.search("product", 0, 10))
+                .thenReturn(new InvertedIndex.Hits(List.of(other.getId(), deletedId, testProductId), 3));
+        when(productRepository.findAllWithUnitByIdIn(argThat(ids -> ids.size() == 2)))
+                .thenReturn(List.of(other));
+
+        
+        Page<ProductResponse> result = productService.search("product", pageable);
+
+        
+        // The deleted hit is dropped, and the last page's total follows its content.
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(other.getId(), testProductId),
+                result.getContent().stream().map(ProductResponse::getId).toList());
+        verify(productRepository, times(1)).findAllWithUnitByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should reject blank search queries")
+    void testSearchBlankQuery() {
+        
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> productService.search("  ", PageRequest.of(0, 10))
+        );
+
+        
+        assertEquals("Search query is required", exception.getMessage());
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    @DisplayName("Should import products in JDBC batches with their initial stock")
+    void testImportProductsInBatches() {
+        
+        ReflectionTestUtils.setField(productService, "importBatchSize", 2);
+        stubImport();
+        List<ProductImportRow> rows = List.of(
+                importRow("Flour", "10", "kg"), importRow("Sugar", null, "KG"), importRow("Salt", "5", "KG"));
+        List<List<ProductImportResult>> commits = new ArrayList<>();
+
+        
+        productService.importProducts(rows.iterator(), commits::add);
+
+        
+        assertEquals(List.of(2, 1), commits.stream().map(List::size).toList());
+        List<ProductImportResult> results = commits.stream().flatMap(List::stream).toList();
+        assertEquals(List.of(0, 1, 2), results.stream().map(ProductImportResult::getIndex).toList());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == ProductImportResult.Status.CREATED && r.getId() != null));
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into products"), anyList());
+        // Sugar has no stock, so only the two other rows get a movement.
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("insert into stock_movements"),
+                argThat((List<Object[]> movements) -> movements.size() == 1));
+        verify(searchIndex, times(2)).indexAll(anyCollection());
+        verify(invalidationBus, times(2)).publish(eq(InvalidationTopic.PRODUCT_CATALOG), anyString());
+        verifyNoInteractions(stockService);
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows without aborting the import")
+    void testImportProductsRejectsInvalidRows() {
+        
+        ReflectionTestUtils.setField(productService, "importBatchSize", 10);
+        stubImport();
+        Iterator<ProductImportRow> rows = new Iterator<>() {
+            private final Iterator<Object> parsed = List.<Object>of(
+                    importRow("Flour", "10", "KG"),
+                    importRow(" ", "10", "KG"),
+                    importRow("Milk", "1", "LITER"),
+                    new IllegalArgumentException("Invalid price: abc"),
+                    importRow("Salt", "5", "KG")).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public ProductImportRow next() {
+                if (!parsed.hasNext()) {
+                    throw new IllegalStateException("Unexpected end-of-input");
+                }
+                Object next = parsed.next();
+                if (next instanceof RuntimeException e) {
+                    throw e;
+                }
+                return (ProductImportRow) next;
+            }
+        };
+        List<List<ProductImportResult>> commits = new ArrayList<>();
+
+        
+        productService.importProducts(rows, commits::add);
+
+        
+        assertEquals(1, commits.size());
+        List<ProductImportResult> results = commits.get(0);
+        assertEquals(List.of(ProductImportResult.Status.CREATED, ProductImportResult.Status.FAILED,
+                ProductImportResult.Status.FAILED, ProductImportResult.Status.FAILED,
+                ProductImportResult.Status.CREATED, ProductImportResult.Status.FAILED),
+                results.stream().map(ProductImportResult::getStatus).toList());
+        assertEquals("name: must not be blank", results.get(1).getError());
+        assertEquals("Unit not found: LITER", results.get(2).getError());
+        assertEquals("Invalid price: abc", results.get(3).getError());
+        assertEquals("Malformed row: Unexpected end-of-input", results.get(5).getError());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should replay a failing import batch one row at a time")
+    void testImportProductsIsolatesFailingRow() {
+        
+        ReflectionTestUtils.setField(productService, "importBatchSize", 3);
+        stubImport();
+        when(jdbcTemplate.batchUpdate(startsWith("insert into products"), anyList())).thenAnswer(invocation -> {
+            List<Object[]> products = invocation.getArgument(1);
+            if (products.stream().anyMatch(product -> "Broken".equals(product[1]))) {
+                throw new DuplicateKeyException("insert into products",
+                        new SQLException("duplicate key value violates unique constraint \"uk_products\"", "23505"));
+            }
+            return new int[products.size()];
+        });
+        List<ProductImportRow> rows = List.of(
+                importRow("Flour", "10", "KG"), importRow("Broken", "10", "KG"), importRow("Salt", "5", "KG"));
+        List<List<ProductImportResult>> commits = new ArrayList<>();
+
+        
+        productService.importProducts(rows.iterator(), commits::add);
+
+        
+        assertEquals(1, commits.size());
+        List<ProductImportResult> results = commits.get(0);
+        assertEquals(List.of(ProductImportResult.Status.CREATED, ProductImportResult.Status.FAILED,
+                ProductImportResult.Status.CREATED),
+                results.stream().map(ProductImportResult::getStatus).toList());
+        assertEquals("Duplicate value", results.get(1).getError());
+        verify(transactionTemplate, times(4)).execute(any());
+    }
+
+    private void stubImport() {
+        when(unitRepository.findAll()).thenReturn(List.of(testUnit));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static ProductImportRow importRow(String name, String stock, String unit) {
+        ProductImportRow row = new ProductImportRow();
+        row.setName(name);
+        row.setPrice(new BigDecimal("2.50"));
+        row.setStock(stock == null ? null : new BigDecimal(stock));
+        row.setUnit(unit);
+        return row;
+    }
+
+    @Test
+    @DisplayName("Should reject adjustments without a selection, a change or a stock reason")
+    void testAdjustRejectsIncompleteRequests() {
+        
+        ProductAdjustmentRequest both = new ProductAdjustmentRequest();
+        both.setProductIds(List.of(testProductId));
+        both.setPrice(BigDecimal.ONE);
+        both.setPricePercent(BigDecimal.TEN);
+        ProductAdjustmentRequest nothing = new ProductAdjustmentRequest();
+        nothing.setProductIds(List.of(testProductId));
+        nothing.setStockDelta(BigDecimal.ZERO);
+        ProductAdjustmentRequest noReason = new ProductAdjustmentRequest();
+        noReason.setProductIds(List.of(testProductId));
+        noReason.setStockDelta(BigDecimal.ONE);
+        ProductAdjustmentRequest noSelection = new ProductAdjustmentRequest();
+        noSelection.setNameContains(" ");
+        noSelection.setPricePercent(BigDecimal.TEN);
+
+        
+        assertEquals("Either price or price percent can be set, not both",
+                assertThrows(IllegalArgumentException.class, () -> productService.adjust(both)).getMessage());
+        assertEquals("Price or stock change is required",
+                assertThrows(IllegalArgumentException.class, () -> productService.adjust(nothing)).getMessage());
+        assertEquals("Stock change reason is required when stock is updated",
+                assertThrows(IllegalArgumentException.class, () -> productService.adjust(noReason)).getMessage());
+        assertEquals("Product ids or a filter are required",
+                assertThrows(IllegalArgumentException.class, () -> productService.adjust(noSelection)).getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should roll back an adjustment that drives a product below zero")
+    void testAdjustRejectsNegativeStock() throws Exception {
+        
+        ProductAdjustmentRequest request = new ProductAdjustmentRequest();
+        request.setProductIds(List.of(testProductId));
+        request.setStockDelta(BigDecimal.valueOf(-150));
+        request.setStockChangeReason("Inventory");
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject(1, UUID.class)).thenReturn(testProductId);
+        when(row.getObject(2, UUID.class)).thenReturn(testUnitId);
+        when(row.getString(3)).thenReturn("Test Product");
+        when(row.getBigDecimal(4)).thenReturn(BigDecimal.valueOf(-50));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0)));
+
+        
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> productService.adjust(request)
+        );
+
+        
+        assertEquals("Insufficient stock for product: Test Product", exception.getMessage());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(invalidationBus, never()).publish(any(), any());
+    }
 }
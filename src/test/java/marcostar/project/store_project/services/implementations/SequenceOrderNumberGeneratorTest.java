@@ -0,0 +1,83 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SequenceOrderNumberGenerator Unit Tests")
+class SequenceOrderNumberGeneratorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should hit the sequence once per block")
+    void testOneQueryPerBlock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 11L);
+        SequenceOrderNumberGenerator generator = new SequenceOrderNumberGenerator(jdbcTemplate, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.format("ORD-%012d", i + 1), generator.next());
+        }
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+
+        assertEquals("ORD-000000000011", generator.next());
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should keep instances disjoint when blocks interleave")
+    void testInterleavedBlocks() {
+        JdbcTemplate otherJdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        when(otherJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(6L);
+        SequenceOrderNumberGenerator first = new SequenceOrderNumberGenerator(jdbcTemplate, 5);
+        SequenceOrderNumberGenerator second = new SequenceOrderNumberGenerator(otherJdbcTemplate, 5);
+
+        assertEquals("ORD-000000000001", first.next());
+        assertEquals("ORD-000000000006", second.next());
+        assertEquals("ORD-000000000002", first.next());
+        assertEquals("ORD-000000000007", second.next());
+    }
+
+    @Test
+    @DisplayName("Should accept a sequence whose increment is the block size")
+    void testCheckSequence() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("order_number_seq"))).thenReturn(List.of(50L));
+
+        new SequenceOrderNumberGenerator(jdbcTemplate, 50).checkSequence();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when the sequence increment differs from the block size")
+    void testCheckSequenceMismatch() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("order_number_seq"))).thenReturn(List.of(100L));
+        SequenceOrderNumberGenerator generator = new SequenceOrderNumberGenerator(jdbcTemplate, 50);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::checkSequence);
+
+        assertEquals("Order number block size 50 does not match the increment of order_number_seq (100)",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when the sequence is missing")
+    void testCheckSequenceMissing() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("order_number_seq"))).thenReturn(List.of());
+        SequenceOrderNumberGenerator generator = new SequenceOrderNumberGenerator(jdbcTemplate, 50);
+
+        assertThrows(IllegalStateException.class, generator::checkSequence);
+    }
+}
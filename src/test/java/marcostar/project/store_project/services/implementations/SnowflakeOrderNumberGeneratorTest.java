@@ -0,0 +1,105 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SnowflakeOrderNumberGenerator Unit Tests")
+class SnowflakeOrderNumberGeneratorTest {
+
+    @Test
+    @DisplayName("Should keep ids unique and increasing within a single millisecond")
+    void testSequenceWithinMillisecond() {
+        Clock frozen = Clock.fixed(Instant.parse("2026-06-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(3, frozen);
+
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("Should never repeat ids when the clock moves backwards")
+    void testClockMovingBackwards() {
+        long[] now = { Instant.parse("2026-06-01T00:00:00Z").toEpochMilli() };
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(now[0]);
+            }
+        };
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, clock);
+
+        long before = generator.nextId();
+        now[0] -= 5_000;
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    @DisplayName("Should produce disjoint ids for different nodes")
+    void testDistinctNodes() throws Exception {
+        Clock frozen = Clock.fixed(Instant.parse("2026-06-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeOrderNumberGenerator nodeA = new SnowflakeOrderNumberGenerator(1, frozen);
+        SnowflakeOrderNumberGenerator nodeB = new SnowflakeOrderNumberGenerator(2, frozen);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            SnowflakeOrderNumberGenerator generator = i % 2 == 0 ? nodeA : nodeB;
+            executor.submit(() -> {
+                for (int j = 0; j < 5_000; j++) {
+                    assertTrue(numbers.add(generator.next()));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, numbers.size());
+        Set<Boolean> prefixes = new HashSet<>();
+        numbers.forEach(number -> prefixes.add(number.startsWith("ORD-")));
+        assertEquals(Set.of(true), prefixes);
+    }
+
+    @Test
+    @DisplayName("Should reject node ids that do not fit in 10 bits")
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeOrderNumberGenerator(1024, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeOrderNumberGenerator(-1, Clock.systemUTC()));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a node id")
+    void testMissingNodeId() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new SnowflakeOrderNumberGenerator(null));
+
+        assertEquals("store.order-number.node-id is required by the snowflake strategy", exception.getMessage());
+    }
+}
@@ -0,0 +1,113 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+
+/**
+ * Streams {@code /api/products/movements/export} from an embedded Postgres with a fetch size
+ * smaller than the data set, so the cursor is read over several round trips.
+ */
+@DisplayName("Stock movement export Integration Tests")
+class StockMovementExportIntegrationTest {
+
+    private static final int MOVEMENTS = 1000;
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication("--store.movement-export.fetch-size=64");
+
+    private static UUID productId;
+    private static UUID otherProductId;
+
+    @BeforeAll
+    static void createMovements() {
+        Unit unit = app.bean(UnitRepository.class).findAll().get(0);
+        ProductRepository products = app.bean(ProductRepository.class);
+        productId = products.save(Product.builder()
+                .name("Flour, \"T55\"")
+                .price(BigDecimal.TEN)
+                .stock(BigDecimal.valueOf(100))
+                .unit(unit)
+                .build()).getId();
+        otherProductId = products.save(Product.builder()
+                .name("Sugar")
+                .price(BigDecimal.TEN)
+                .stock(BigDecimal.valueOf(100))
+                .unit(unit)
+                .build()).getId();
+        // Movement g is g minutes old, alternating between the two products.
+        app.bean(JdbcTemplate.class).update(
+                "insert into stock_movements (id, product_id, quantity, type, unit_id, reason, created_at, updated_at) "
+                        + "select gen_random_uuid(), case when g % 2 = 0 then ? else ? end, g, g % 3, ?, 'movement ' || g, "
+                        + "timestamp '2026-01-01 00:00:00' - g * interval '1 minute', now() "
+                        + "from generate_series(1, ?) g",
+                productId, otherProductId, unit.getId(), MOVEMENTS);
+    }
+
+    @Test
+    @DisplayName("Should stream every movement oldest first and resume after a cursor")
+    void testExportNdjsonAndResume() throws Exception {
+        HttpResponse<String> response = app.get("/api/products/movements/export");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElseThrow());
+        List<String> lines = response.body().lines().toList();
+        assertEquals(MOVEMENTS, lines.size());
+        assertTrue(lines.get(0).contains("\"reason\":\"movement " + MOVEMENTS + "\""));
+        assertTrue(lines.get(MOVEMENTS - 1).contains("\"reason\":\"movement 1\""));
+
+        String cursor = cursorOf(lines.get(399));
+        List<String> resumed = app.get("/api/products/movements/export?after=" + cursor).body().lines().toList();
+
+        assertEquals(lines.subList(400, MOVEMENTS), resumed);
+    }
+
+    @Test
+    @DisplayName("Should filter by product and date range and quote CSV fields")
+    void testExportCsvWithFilters() throws Exception {
+        // created_at has no time zone; the driver reads it in the JVM zone.
+        ZoneId zone = ZoneId.systemDefault();
+        HttpResponse<String> response = app.get("/api/products/movements/export?format=csv&productId=" + productId
+                + "&from=" + LocalDateTime.of(2025, 12, 31, 22, 0).atZone(zone).toInstant()
+                + "&to=" + LocalDateTime.of(2025, 12, 31, 23, 0).atZone(zone).toInstant());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/csv", response.headers().firstValue("Content-Type").orElseThrow());
+        List<String> lines = response.body().lines().toList();
+        assertEquals("id,created_at,product_id,product_name,type,quantity,unit,reason,cursor", lines.get(0));
+        // Even minutes in (60, 120], the upper bound excluded.
+        assertEquals(30, lines.size() - 1);
+        assertTrue(lines.get(1).contains("," + productId + ",\"Flour, \"\"T55\"\"\",IN,120.000,"));
+        assertTrue(lines.stream().skip(1).noneMatch(line -> line.contains(otherProductId.toString())));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats and malformed cursors before streaming")
+    void testExportRejectsInvalidParameters() throws Exception {
+        assertEquals(400, app.get("/api/products/movements/export?format=xml").statusCode());
+        assertEquals(400, app.get("/api/products/movements/export?after=not-a-cursor").statusCode());
+    }
+
+    private static String cursorOf(String line) {
+        String marker = "\"cursor\":\"";
+        int start = line.indexOf(marker) + marker.length();
+        return line.substring(start, line.indexOf('"', start));
+    }
+}
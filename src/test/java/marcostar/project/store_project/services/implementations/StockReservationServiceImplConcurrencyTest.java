@@ -0,0 +1,135 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import marcostar.project.store_project.EmbeddedStoreApplication;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.enums.UnitCategory;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.services.StockReservationService;
+
+/**
+ * Reserves stock from many threads against an embedded Postgres, with the schema built by the
+ * Flyway migrations, so the conditional updates run under the production database's locking.
+ */
+@DisplayName("StockReservationServiceImpl Concurrency Tests")
+class StockReservationServiceImplConcurrencyTest {
+
+    private static final int ORDERS = 2000;
+    private static final int THREADS = 32;
+    private static final int INITIAL_STOCK = 500;
+
+    @RegisterExtension
+    static final EmbeddedStoreApplication app = new EmbeddedStoreApplication();
+
+    private final StockReservationService stockReservationService = app.bean(StockReservationService.class);
+    private final ProductRepository productRepository = app.bean(ProductRepository.class);
+    private final UnitRepository unitRepository = app.bean(UnitRepository.class);
+    private final PlatformTransactionManager transactionManager = app.bean(PlatformTransactionManager.class);
+
+    private UUID createProduct(String name, int stock) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        return tx.execute(status -> {
+            Unit unit = unitRepository.findByCode("PIECE")
+                    .orElseGet(() -> unitRepository.save(new Unit("PIECE", "Piece", "pc", UnitCategory.QUANTITY, true)));
+            Product product = Product.builder()
+                    .name(name)
+                    .price(BigDecimal.ONE)
+                    .stock(BigDecimal.valueOf(stock))
+                    .unit(unit)
+                    .build();
+            return productRepository.save(product).getId();
+        });
+    }
+
+    private BigDecimal stockOf(UUID productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot SKU under thousands of parallel orders")
+    void testParallelOrdersNeverOversell() throws Exception {
+        UUID productId = createProduct("Hot SKU", INITIAL_STOCK);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    tx.executeWithoutResult(status ->
+                            stockReservationService.reserve(Map.of(productId, BigDecimal.ONE)));
+                    accepted.incrementAndGet();
+                } catch (IllegalArgumentException ex) {
+                    rejected.incrementAndGet();
+                }
+                assertTrue(stockOf(productId).signum() >= 0);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(INITIAL_STOCK, accepted.get());
+        assertEquals(ORDERS - INITIAL_STOCK, rejected.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(stockOf(productId)));
+    }
+
+    @Test
+    @DisplayName("Should roll back every line of an order when one line is short")
+    void testPartialReservationRollsBack() {
+        UUID plenty = createProduct("Plenty", 10);
+        UUID scarce = createProduct("Scarce", 1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> tx.executeWithoutResult(status -> stockReservationService.reserve(
+                        Map.of(plenty, BigDecimal.valueOf(5), scarce, BigDecimal.valueOf(2))))
+        );
+
+        assertEquals("Insufficient stock for product: Scarce", exception.getMessage());
+        assertEquals(0, BigDecimal.TEN.compareTo(stockOf(plenty)));
+        assertEquals(0, BigDecimal.ONE.compareTo(stockOf(scarce)));
+    }
+
+    @Test
+    @DisplayName("Should apply the net delta when rebalancing an order")
+    void testRebalanceAppliesNetDelta() {
+        UUID productId = createProduct("Rebalanced", 4);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(status -> stockReservationService.rebalance(
+                Map.of(productId, BigDecimal.valueOf(6)),
+                Map.of(productId, BigDecimal.valueOf(9))));
+
+        assertEquals(0, BigDecimal.ONE.compareTo(stockOf(productId)));
+    }
+}
@@ -0,0 +1,200 @@
+package marcostar.project.store_project.services.implementations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import marcostar.project.store_project.config.invalidation.InvalidationBus;
+import marcostar.project.store_project.config.invalidation.InvalidationListener;
+import marcostar.project.store_project.config.invalidation.InvalidationTopic;
+import marcostar.project.store_project.entities.Unit;
+import marcostar.project.store_project.entities.UnitConversion;
+import marcostar.project.store_project.entities.enums.UnitCategory;
+import marcostar.project.store_project.repositories.UnitConversionRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnitConversionServiceImpl Unit Tests")
+class UnitConversionServiceImplTest {
+
+    @Mock
+    private UnitConversionRepository unitConversionRepository;
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private UnitConversionServiceImpl unitConversionService;
+
+    private Unit gram;
+    private Unit kilogram;
+    private Unit milligram;
+    private Unit liter;
+
+    @BeforeEach
+    void setUp() {
+        gram = unit("GRAM", UnitCategory.WEIGHT, true);
+        kilogram = unit("KILOGRAM", UnitCategory.WEIGHT, false);
+        milligram = unit("MILLIGRAM", UnitCategory.WEIGHT, false);
+        liter = unit("LITER", UnitCategory.VOLUME, true);
+
+        lenient().when(unitRepository.findAll()).thenReturn(List.of(gram, kilogram, milligram, liter));
+        lenient().when(unitConversionRepository.findAllWithUnits()).thenReturn(List.of(
+                new UnitConversion(kilogram, gram, new BigDecimal("1000")),
+                new UnitConversion(gram, kilogram, new BigDecimal("0.001")),
+                new UnitConversion(milligram, gram, new BigDecimal("0.001")),
+                new UnitConversion(gram, milligram, new BigDecimal("1000"))));
+    }
+
+    private Unit unit(String code, UnitCategory category, boolean isBaseUnit) {
+        Unit unit = new Unit(code, code, code, category, isBaseUnit);
+        unit.setId(UUID.randomUUID());
+        return unit;
+    }
+
+    @Test
+    @DisplayName("Should convert with a direct factor")
+    void testConvertDirect() {
+        BigDecimal result = unitConversionService.convert(new BigDecimal("2.5"), kilogram.getId(), gram.getId());
+
+        assertEquals(new BigDecimal("2500.000"), result);
+        assertEquals(UnitConversionGraph.Path.DIRECT,
+                unitConversionService.currentGraph().pathOf(kilogram.getId(), gram.getId()));
+    }
+
+    @Test
+    @DisplayName("Should convert through the base unit when no direct factor exists")
+    void testConvertViaBaseUnit() {
+        BigDecimal result = unitConversionService.convert(new BigDecimal("3"), kilogram.getId(), milligram.getId());
+
+        assertEquals(new BigDecimal("3000000.00"), result);
+        assertEquals(UnitConversionGraph.Path.VIA_BASE,
+                unitConversionService.currentGraph().pathOf(kilogram.getId(), milligram.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return the same quantity for identical units")
+    void testConvertIdentity() {
+        BigDecimal quantity = new BigDecimal("7.125");
+
+        assertSame(quantity, unitConversionService.convert(quantity, gram.getId(), gram.getId()));
+    }
+
+    @Test
+    @DisplayName("Should time conversions per resolved path")
+    void testConvertRecordsPath() {
+        unitConversionService.convert(new BigDecimal("2"), kilogram.getId(), gram.getId());
+        unitConversionService.convert(new BigDecimal("2"), kilogram.getId(), milligram.getId());
+        unitConversionService.convert(new BigDecimal("2"), kilogram.getId(), milligram.getId());
+        unitConversionService.convert(new BigDecimal("2"), gram, gram);
+
+        assertEquals(1, meterRegistry.get("store.unit.conversion").tag("path", "direct").timer().count());
+        assertEquals(2, meterRegistry.get("store.unit.conversion").tag("path", "via_base").timer().count());
+        assertEquals(1, meterRegistry.get("store.unit.conversion").tag("path", "identity").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject conversions across categories")
+    void testConvertDifferentCategories() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> unitConversionService.convert(BigDecimal.ONE, gram.getId(), liter.getId())
+        );
+        assertTrue(exception.getMessage().contains("different unit categories"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown units")
+    void testConvertUnknownUnit() {
+        UUID unknown = UUID.randomUUID();
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> unitConversionService.convert(BigDecimal.ONE, unknown, gram.getId())
+        );
+        assertEquals("From unit not found: " + unknown, exception.getMessage());
+        // Rejected from the loaded graph, without reading the unit tables again.
+        verify(unitRepository, times(1)).findAll();
+        verify(unitConversionRepository, times(1)).findAllWithUnits();
+    }
+
+    @Test
+    @DisplayName("Should load the graph once and serve conversions from memory")
+    void testConvertDoesNotQueryPerCall() {
+        for (int i = 0; i < 50; i++) {
+            unitConversionService.convert(BigDecimal.TEN, kilogram.getId(), milligram.getId());
+        }
+
+        verify(unitRepository, times(1)).findAll();
+        verify(unitConversionRepository, times(1)).findAllWithUnits();
+        verify(unitConversionRepository, never()).findByFromUnitAndToUnit(any(), any());
+        verify(unitRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should swap in a new graph on refresh")
+    void testRefreshRebuildsGraph() {
+        unitConversionService.convert(BigDecimal.ONE, kilogram.getId(), gram.getId());
+        UnitConversionGraph before = unitConversionService.currentGraph();
+
+        unitConversionService.refresh();
+
+        assertNotSame(before, unitConversionService.currentGraph());
+        verify(unitRepository, times(2)).findAll();
+        verify(invalidationBus).publish(InvalidationTopic.UNITS, null);
+    }
+
+    @Test
+    @DisplayName("Should not let an older reload replace the graph of a newer one")
+    void testReloadsDoNotOverlap() throws Exception {
+        Unit ton = unit("TON", UnitCategory.WEIGHT, false);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(unitRepository.findAll())
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return List.of(gram, kilogram, milligram, liter);
+                })
+                .thenReturn(List.of(gram, kilogram, milligram, liter, ton));
+        unitConversionService.subscribe();
+        ArgumentCaptor<InvalidationListener> listener = ArgumentCaptor.forClass(InvalidationListener.class);
+        verify(invalidationBus).subscribe(eq(InvalidationTopic.UNITS), listener.capture());
+
+        Thread older = new Thread(unitConversionService::refresh);
+        older.start();
+        loading.await();
+        Thread newer = new Thread(() -> listener.getValue().onInvalidation(null));
+        newer.start();
+        while (newer.getState() != Thread.State.WAITING && newer.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        older.join();
+        newer.join();
+
+        assertTrue(unitConversionService.currentGraph().findById(ton.getId()).isPresent());
+        verify(unitRepository, times(2)).findAll();
+    }
+}
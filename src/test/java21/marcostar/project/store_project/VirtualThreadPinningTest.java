@@ -0,0 +1,155 @@
+package marcostar.project.store_project;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import marcostar.project.store_project.config.security.CustomUserDetailsService;
+import marcostar.project.store_project.entities.Product;
+import marcostar.project.store_project.entities.User;
+import marcostar.project.store_project.entities.enums.TypeRole;
+import marcostar.project.store_project.repositories.ProductRepository;
+import marcostar.project.store_project.repositories.RoleRepository;
+import marcostar.project.store_project.repositories.UnitRepository;
+import marcostar.project.store_project.repositories.UserRepository;
+import marcostar.project.store_project.services.OrderNumberGenerator;
+import marcostar.project.store_project.services.ProductService;
+import marcostar.project.store_project.services.StockReservationService;
+
+/**
+ * Runs the blocking request paths (principal loading, order numbers, stock reservation, product
+ * pages) on virtual threads against a real Postgres through a deliberately small Hikari pool, and
+ * fails if JFR reports a {@code jdk.VirtualThreadPinned} event from application, Hikari, pgjdbc or
+ * Hibernate frames. Only compiled by the java21 profile.
+ */
+@DisplayName("Virtual thread pinning Tests")
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 500;
+    private static final List<String> WATCHED_PACKAGES = List.of(
+            "marcostar.project.store_project", "com.zaxxer.hikari", "org.postgresql", "org.hibernate");
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static UUID productId;
+
+    @BeforeAll
+    static void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(StoreProjectApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.datasource.hikari.maximum-pool-size=4",
+                "--spring.threads.virtual.enabled=true",
+                "--server.port=0",
+                "--jwt.secret=pinning-test-secret-pinning-test-secret",
+                "--spring.devtools.restart.enabled=false");
+
+        context.getBean(UserRepository.class).save(User.builder()
+                .username("pinning-user")
+                .firstname("Pinning")
+                .lastname("Test")
+                .email("pinning-user@example.com")
+                .password("secret")
+                .role(context.getBean(RoleRepository.class).findByTypeRole(TypeRole.ADMIN).orElseThrow())
+                .build());
+        productId = context.getBean(ProductRepository.class).save(Product.builder()
+                .name("Pinning product")
+                .price(new BigDecimal("1.00"))
+                .stock(new BigDecimal("1000000"))
+                .unit(context.getBean(UnitRepository.class).findByCode("KILOGRAM").orElseThrow())
+                .build()).getId();
+    }
+
+    @AfterAll
+    static void stopApplication() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not pin carrier threads on the JDBC request paths")
+    void testNoPinningOnJdbcPaths() throws Exception {
+        CustomUserDetailsService userDetailsService = context.getBean(CustomUserDetailsService.class);
+        OrderNumberGenerator orderNumberGenerator = context.getBean(OrderNumberGenerator.class);
+        StockReservationService stockReservationService = context.getBean(StockReservationService.class);
+        ProductService productService = context.getBean(ProductService.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Queue<RecordedEvent> pinned = new ConcurrentLinkedQueue<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            stream.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    futures.add(executor.submit(() -> {
+                        userDetailsService.evict("pinning-user");
+                        userDetailsService.loadUserByUsername("pinning-user");
+                        orderNumberGenerator.next();
+                        transactionTemplate.executeWithoutResult(status ->
+                                stockReservationService.reserve(Map.of(productId, BigDecimal.ONE)));
+                        productService.getAll(PageRequest.of(0, 20));
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            stream.stop();
+        }
+
+        List<String> offenders = pinned.stream()
+                .map(VirtualThreadPinningTest::describe)
+                .filter(stack -> WATCHED_PACKAGES.stream().anyMatch(stack::contains))
+                .distinct()
+                .toList();
+        assertTrue(offenders.isEmpty(), "Pinned virtual threads:\n" + String.join("\n\n", offenders));
+    }
+
+    private static String describe(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n  at "));
+    }
+}